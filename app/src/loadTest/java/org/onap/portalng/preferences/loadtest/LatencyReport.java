@@ -0,0 +1,169 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.loadtest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.onap.portalng.preferences.loadtest.OpenWorkload.Operation;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Latencies of one workload run, per operation. Latencies are recorded in microseconds and reported
+ * in milliseconds.
+ */
+final class LatencyReport {
+
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+  private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+
+  private long elapsedNanos;
+
+  LatencyReport() {
+    for (var operation : Operation.values()) {
+      latencies.put(operation, new ConcurrentHistogram(3));
+      errors.put(operation, new LongAdder());
+      dropped.put(operation, new LongAdder());
+    }
+  }
+
+  void record(Operation operation, long latencyNanos, boolean successful) {
+    latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    if (!successful) {
+      errors.get(operation).increment();
+    }
+  }
+
+  void dropped(Operation operation) {
+    dropped.get(operation).increment();
+  }
+
+  void finish(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Write <code>summary.json</code> and the full percentile distribution of every operation (<code>
+   * .hgrm</code>, plottable with HdrHistogram's plotter) into a new directory
+   *
+   * @param settings the settings of the run
+   * @param reportDir the directory the run directory is created in
+   * @return the directory of this run
+   */
+  File write(LoadTestSettings settings, File reportDir) throws IOException {
+    var runDir =
+        new File(
+            reportDir, LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+    if (!runDir.mkdirs()) {
+      throw new IOException("Could not create " + runDir);
+    }
+
+    var objectMapper = Jackson2ObjectMapperBuilder.json().indentOutput(true).build();
+    var summary = objectMapper.createObjectNode();
+    summary.set("settings", objectMapper.valueToTree(settings));
+    var operations = summary.putObject("operations");
+    var all = new Histogram(3);
+    long allErrors = 0;
+    long allDropped = 0;
+    for (var operation : Operation.values()) {
+      var histogram = latencies.get(operation);
+      all.add(histogram);
+      allErrors += errors.get(operation).sum();
+      allDropped += dropped.get(operation).sum();
+      summarize(
+          operations.putObject(operation.name()),
+          histogram,
+          errors.get(operation).sum(),
+          dropped.get(operation).sum());
+      writeDistribution(new File(runDir, operation.name() + ".hgrm"), histogram);
+    }
+    summarize(operations.putObject("ALL"), all, allErrors, allDropped);
+    writeDistribution(new File(runDir, "ALL.hgrm"), all);
+    objectMapper.writeValue(new File(runDir, "summary.json"), summary);
+    return runDir;
+  }
+
+  /** A table of throughput and percentiles per operation. */
+  String table() {
+    var table = new StringBuilder();
+    table.append(
+        String.format(
+            "%-5s %9s %9s %7s %7s %9s %9s %9s %9s%n",
+            "op", "count", "req/s", "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+    for (var operation : Operation.values()) {
+      var histogram = latencies.get(operation);
+      table.append(
+          String.format(
+              "%-5s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+              operation,
+              histogram.getTotalCount(),
+              throughput(histogram),
+              errors.get(operation).sum(),
+              dropped.get(operation).sum(),
+              percentile(histogram, 50),
+              percentile(histogram, 95),
+              percentile(histogram, 99),
+              histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+    return table.toString();
+  }
+
+  private void summarize(ObjectNode node, Histogram histogram, long errorCount, long droppedCount) {
+    node.put("count", histogram.getTotalCount());
+    node.put("errors", errorCount);
+    node.put("dropped", droppedCount);
+    node.put("throughput", throughput(histogram));
+    node.put("p50", percentile(histogram, 50));
+    node.put("p95", percentile(histogram, 95));
+    node.put("p99", percentile(histogram, 99));
+    node.put("p999", percentile(histogram, 99.9));
+    node.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+  }
+
+  private void writeDistribution(File file, Histogram histogram) throws IOException {
+    try (var out = new PrintStream(file)) {
+      histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+    }
+  }
+
+  private double throughput(Histogram histogram) {
+    return histogram.getTotalCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  private static double percentile(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.loadtest;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.onap.portalng.preferences.PreferencesApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * End-to-end load test of <code>/v1/preferences</code>. Starts the app in this JVM against a
+ * throwaway Postgres container and a stub JWKS endpoint, drives an {@link OpenWorkload} and writes
+ * a {@link LatencyReport}. The client shares the CPUs with the app, so compare runs with each other
+ * rather than with production numbers.
+ *
+ * <p>Everything the app reads from its environment can be overridden with system properties, e.g.
+ * <code>./gradlew loadTest -Ppreferences.cache.enabled=true -Ploadtest.rate=500</code>. With <code>
+ * PREFERENCES_DB_HOST</code> set, the database configured by the <code>PREFERENCES_DB_*</code>
+ * variables is used instead of a container.
+ */
+public final class LoadTest {
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    var environment = new StandardEnvironment();
+    var settings = Binder.get(environment).bindOrCreate("loadtest", LoadTestSettings.class);
+
+    PostgreSQLContainer postgres = null;
+    if (!environment.containsProperty("PREFERENCES_DB_HOST")) {
+      postgres = new PostgreSQLContainer(settings.postgresImage());
+      postgres.start();
+    }
+
+    try (var jwks = new StubJwks()) {
+      var defaults = new HashMap<String, Object>();
+      defaults.put("KEYCLOAK_URL", jwks.url());
+      defaults.put("KEYCLOAK_REALM", StubJwks.REALM);
+      defaults.put("TRACE_ID_HEADER_NAME", "x-b3-traceid");
+      defaults.put("TRACING_ENABLED", "false");
+      defaults.put("server.port", "0");
+      defaults.put("server.address", "127.0.0.1");
+      // one log line per request would measure the console, not the app
+      defaults.put("logging.level.root", "warn");
+      if (postgres != null) {
+        defaults.put("PREFERENCES_DB_HOST", postgres.getHost());
+        defaults.put("PREFERENCES_DB_PORT", postgres.getFirstMappedPort());
+        defaults.put("PREFERENCES_DB", postgres.getDatabaseName());
+        defaults.put("PREFERENCES_DB_USERNAME", postgres.getUsername());
+        defaults.put("PREFERENCES_DB_PASSWORD", postgres.getPassword());
+      }
+      // below system properties and environment variables, above application.yml
+      environment.getPropertySources().addLast(new MapPropertySource("loadTest", defaults));
+
+      var validity = settings.warmup().plus(settings.duration()).multipliedBy(2);
+      List<String> tokens =
+          IntStream.range(0, settings.users())
+              .mapToObj(user -> jwks.mint("loadtest-user-" + user, validity))
+              .toList();
+
+      try (var app =
+          new SpringApplicationBuilder(PreferencesApplication.class)
+              .environment(environment)
+              .run(args)) {
+        var port = app.getEnvironment().getRequiredProperty("local.server.port");
+        var workload =
+            new OpenWorkload(
+                settings, URI.create("http://127.0.0.1:" + port + "/v1/preferences"), tokens);
+
+        System.out.printf("Warming up for %s at %.0f req/s%n", settings.warmup(), settings.rate());
+        workload.run(settings.warmup());
+        System.out.printf(
+            "Measuring for %s at %.0f req/s with %d users%n",
+            settings.duration(), settings.rate(), settings.users());
+        var report = workload.run(settings.duration());
+
+        System.out.print(report.table());
+        System.out.println("Report written to " + report.write(settings, settings.reportDir()));
+      }
+    } finally {
+      if (postgres != null) {
+        postgres.stop();
+      }
+    }
+  }
+}
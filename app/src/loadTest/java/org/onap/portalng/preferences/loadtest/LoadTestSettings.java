@@ -0,0 +1,64 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.loadtest;
+
+import java.io.File;
+import java.time.Duration;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of a load test run, bound from <code>loadtest.*</code> system properties (<code>
+ * ./gradlew loadTest -Ploadtest.rate=500</code>).
+ *
+ * @param users the number of synthetic users, each with its own token
+ * @param rate the arrival rate in requests per second, independent of how fast the app answers
+ * @param warmup how long the workload runs before latencies are recorded
+ * @param duration how long latencies are recorded
+ * @param mix the relative weights of the operations
+ * @param payloadKeys the number of top level keys of the documents that are saved
+ * @param maxInFlight requests arriving while this many are outstanding are dropped and counted
+ *     instead of being sent, so an overloaded app cannot exhaust the client
+ * @param postgresImage the image of the throwaway database, unused when <code>PREFERENCES_DB_HOST
+ *     </code> points to an existing one
+ * @param reportDir where the reports are written to
+ */
+record LoadTestSettings(
+    @DefaultValue("1000") int users,
+    @DefaultValue("200") double rate,
+    @DefaultValue("10s") Duration warmup,
+    @DefaultValue("60s") Duration duration,
+    @DefaultValue Mix mix,
+    @DefaultValue("20") int payloadKeys,
+    @DefaultValue("1000") int maxInFlight,
+    @DefaultValue("postgres:16-alpine") String postgresImage,
+    @DefaultValue("build/reports/loadtest") File reportDir) {
+
+  /**
+   * Relative weights of the operations.
+   *
+   * @param get weight of <code>GET /v1/preferences</code>
+   * @param put weight of <code>PUT /v1/preferences</code>
+   * @param post weight of <code>POST /v1/preferences</code>
+   */
+  record Mix(
+      @DefaultValue("80") int get, @DefaultValue("15") int put, @DefaultValue("5") int post) {}
+}
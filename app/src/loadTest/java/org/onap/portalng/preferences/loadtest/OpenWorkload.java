@@ -0,0 +1,148 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model workload: requests are started at a fixed arrival rate no matter how long earlier ones
+ * take, like independent browsers would. Latencies are measured from the moment a request was due,
+ * not from when it was actually sent, so a stalled app shows up in the percentiles instead of
+ * silently lowering the offered load (coordinated omission).
+ */
+final class OpenWorkload {
+
+  enum Operation {
+    GET,
+    PUT,
+    POST
+  }
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  private final LoadTestSettings settings;
+
+  private final URI uri;
+
+  private final List<String> tokens;
+
+  private final HttpClient client =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .executor(Executors.newVirtualThreadPerTaskExecutor())
+          .build();
+
+  private final SplittableRandom random = new SplittableRandom(42);
+
+  private long revision;
+
+  OpenWorkload(LoadTestSettings settings, URI uri, List<String> tokens) {
+    this.settings = settings;
+    this.uri = uri;
+    this.tokens = tokens;
+  }
+
+  /**
+   * Offer the configured rate for the given time and wait for the outstanding requests
+   *
+   * @param duration how long requests are started
+   * @return the latencies of the requests
+   */
+  LatencyReport run(Duration duration) throws InterruptedException {
+    var report = new LatencyReport();
+    var inFlight = new Semaphore(settings.maxInFlight());
+    var interval = Math.round(TimeUnit.SECONDS.toNanos(1) / settings.rate());
+    var start = System.nanoTime();
+    var end = start + duration.toNanos();
+
+    for (var due = start; due - end < 0; due += interval) {
+      var wait = due - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      var operation = nextOperation();
+      if (!inFlight.tryAcquire()) {
+        report.dropped(operation);
+        continue;
+      }
+      var scheduled = due;
+      client
+          .sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+          .whenComplete(
+              (response, error) -> {
+                report.record(
+                    operation,
+                    System.nanoTime() - scheduled,
+                    error == null && response.statusCode() / 100 == 2);
+                inFlight.release();
+              });
+    }
+
+    if (!inFlight.tryAcquire(
+        settings.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Outstanding requests did not complete");
+    }
+    report.finish(System.nanoTime() - start);
+    return report;
+  }
+
+  private Operation nextOperation() {
+    var mix = settings.mix();
+    var pick = random.nextInt(mix.get() + mix.put() + mix.post());
+    if (pick < mix.get()) {
+      return Operation.GET;
+    }
+    return pick < mix.get() + mix.put() ? Operation.PUT : Operation.POST;
+  }
+
+  private HttpRequest request(Operation operation) {
+    var request =
+        HttpRequest.newBuilder(uri)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+    return switch (operation) {
+      case GET -> request.GET().build();
+      case PUT -> request.header("Content-Type", "application/json").PUT(document()).build();
+      case POST -> request.header("Content-Type", "application/json").POST(document()).build();
+    };
+  }
+
+  /** A document with the configured number of keys; one value changes with every save. */
+  private HttpRequest.BodyPublisher document() {
+    var json = new StringBuilder("{\"properties\":{\"revision\":").append(revision++);
+    for (var i = 0; i < settings.payloadKeys(); i++) {
+      json.append(",\"widget").append(i).append("\":{\"visible\":true,\"position\":").append(i);
+      json.append(",\"title\":\"Widget ").append(i).append("\"}");
+    }
+    return HttpRequest.BodyPublishers.ofString(json.append("}}").toString());
+  }
+}
@@ -21,14 +21,36 @@
 
 package org.onap.portalng.preferences;
 
+import org.onap.portalng.preferences.cache.CacheProperties;
+import org.onap.portalng.preferences.configuration.CompressionProperties;
+import org.onap.portalng.preferences.configuration.LimitsProperties;
 import org.onap.portalng.preferences.configuration.PreferencesConfig;
+import org.onap.portalng.preferences.configuration.PreferencesRuntimeHints;
+import org.onap.portalng.preferences.configuration.StorageProperties;
 import org.onap.portalng.preferences.logging.LoggerProperties;
+import org.onap.portalng.preferences.services.LookupProperties;
+import org.onap.portalng.preferences.services.StreamProperties;
+import org.onap.portalng.preferences.services.TransferProperties;
+import org.onap.portalng.preferences.services.WriteBehindProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
-@EnableConfigurationProperties({PreferencesConfig.class, LoggerProperties.class})
+@ImportRuntimeHints(PreferencesRuntimeHints.class)
+@EnableConfigurationProperties({
+  PreferencesConfig.class,
+  LoggerProperties.class,
+  CacheProperties.class,
+  StorageProperties.class,
+  WriteBehindProperties.class,
+  TransferProperties.class,
+  LookupProperties.class,
+  StreamProperties.class,
+  LimitsProperties.class,
+  CompressionProperties.class
+})
 public class PreferencesApplication {
 
   public static void main(String[] args) {
@@ -0,0 +1,57 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the in-process read-through cache in front of the preferences repository.
+ *
+ * @param enabled whether reads are served from the cache at all
+ * @param maximumSize the maximum number of users kept in memory
+ * @param expireAfterWrite how long an entry is served before it is reloaded from the database
+ * @param invalidation eviction of entries that were changed by other replicas
+ */
+@ConfigurationProperties("preferences.cache")
+public record CacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("5m") Duration expireAfterWrite,
+    @DefaultValue Invalidation invalidation) {
+
+  /**
+   * Settings of the LISTEN/NOTIFY based invalidation across replicas.
+   *
+   * @param enabled whether every replica listens for changes on a dedicated database connection
+   * @param validationInterval how long the listener waits for notifications before it checks that
+   *     its connection is still alive
+   * @param minBackoff the delay before the first reconnect attempt after the connection was lost
+   * @param maxBackoff the longest delay between reconnect attempts
+   */
+  public record Invalidation(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("10s") Duration validationInterval,
+      @DefaultValue("100ms") Duration minBackoff,
+      @DefaultValue("30s") Duration maxBackoff) {}
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.onap.portalng.preferences.configuration.StorageProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Starts a {@link PreferencesChangeListener} for the database the preferences are stored in. Every
+ * further database holding preferences needs a listener of its own, so with sharding there is one
+ * per shard.
+ */
+@Configuration
+@ConditionalOnProperty(name = "preferences.cache.invalidation.enabled", havingValue = "true")
+public class InvalidationConfig {
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "preferences.storage.sharding.enabled",
+      havingValue = "false",
+      matchIfMissing = true)
+  PreferencesChangeListener preferencesChangeListener(
+      DataSourceProperties dataSourceProperties,
+      CacheProperties cacheProperties,
+      ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    return new PreferencesChangeListener(
+        "primary",
+        dataSourceProperties.determineUrl(),
+        dataSourceProperties.determineUsername(),
+        dataSourceProperties.determinePassword(),
+        cacheProperties.invalidation(),
+        eventPublisher,
+        objectMapper,
+        meterRegistry);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "preferences.storage.sharding.enabled", havingValue = "true")
+  ShardChangeListeners shardChangeListeners(
+      StorageProperties storageProperties,
+      CacheProperties cacheProperties,
+      ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    return new ShardChangeListeners(
+        storageProperties.sharding().shards().stream()
+            .map(
+                shard ->
+                    new PreferencesChangeListener(
+                        shard.name(),
+                        shard.url(),
+                        shard.username(),
+                        shard.password(),
+                        cacheProperties.invalidation(),
+                        eventPublisher,
+                        objectMapper,
+                        meterRegistry))
+            .toList());
+  }
+
+  /** Starts and stops the listeners of all shards together. */
+  record ShardChangeListeners(List<PreferencesChangeListener> listeners) implements SmartLifecycle {
+
+    @Override
+    public void start() {
+      listeners.forEach(PreferencesChangeListener::start);
+    }
+
+    @Override
+    public void stop() {
+      listeners.forEach(PreferencesChangeListener::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+      return listeners.stream().anyMatch(PreferencesChangeListener::isRunning);
+    }
+  }
+}
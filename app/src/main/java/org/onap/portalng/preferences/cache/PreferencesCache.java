@@ -0,0 +1,130 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Size- and TTL-bounded cache of the stored preferences, keyed by userId. Caffeine evicts with
+ * W-TinyLFU, so the frequently read documents stay in memory even when a burst of one-off users
+ * passes through. Concurrent misses for the same user share a single database load.
+ *
+ * <p>Entries are evicted when a {@link PreferencesChangedEvent} reports a change, e.g. one made by
+ * another replica. When the cache is disabled every lookup goes straight to the loader.
+ */
+@Component
+public class PreferencesCache {
+
+  private static final String CACHE_NAME = "preferences";
+
+  private final AsyncCache<String, PreferencesDto> cache;
+
+  public PreferencesCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+    if (cacheProperties.enabled()) {
+      this.cache =
+          Caffeine.newBuilder()
+              .maximumSize(cacheProperties.maximumSize())
+              .expireAfterWrite(cacheProperties.expireAfterWrite())
+              .recordStats()
+              .buildAsync();
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    } else {
+      this.cache = null;
+    }
+  }
+
+  /**
+   * Get the preferences of the given user, loading and caching them on a miss.
+   *
+   * @param userId the id of the user
+   * @param loader loads the preferences from the database on a cache miss
+   * @return the cached or freshly loaded preferences
+   */
+  public Mono<PreferencesDto> get(String userId, Function<String, Mono<PreferencesDto>> loader) {
+    if (cache == null) {
+      return loader.apply(userId);
+    }
+    // suppress cancellation: the future is shared with every other subscriber waiting on this key
+    return Mono.fromFuture(
+        () -> cache.get(userId, (key, executor) -> loader.apply(key).toFuture()), true);
+  }
+
+  /**
+   * Get the cached preferences of the given user without loading them on a miss. Loads that are
+   * still in flight count as a miss.
+   *
+   * @param userId the id of the user
+   * @return the cached preferences, if any
+   */
+  public Optional<PreferencesDto> getIfPresent(String userId) {
+    if (cache == null) {
+      return Optional.empty();
+    }
+    var future = cache.getIfPresent(userId);
+    return future != null && future.isDone() && !future.isCompletedExceptionally()
+        ? Optional.ofNullable(future.getNow(null))
+        : Optional.empty();
+  }
+
+  /** Replace the cached entry with the preferences that have just been written. */
+  public void put(String userId, PreferencesDto preferencesDto) {
+    if (cache != null) {
+      cache.put(userId, CompletableFuture.completedFuture(preferencesDto));
+    }
+  }
+
+  public void invalidate(String userId) {
+    if (cache != null) {
+      cache.synchronous().invalidate(userId);
+    }
+  }
+
+  public void invalidateAll() {
+    if (cache != null) {
+      cache.synchronous().invalidateAll();
+    }
+  }
+
+  // evict before other listeners read the changed preferences, right after reads were routed away
+  // from the replica
+  @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+  @EventListener
+  void onPreferencesChanged(PreferencesChangedEvent event) {
+    if (event.userId() == null) {
+      invalidateAll();
+    } else {
+      invalidate(event.userId());
+    }
+  }
+}
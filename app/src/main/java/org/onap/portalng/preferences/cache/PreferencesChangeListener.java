@@ -0,0 +1,245 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Listens for the notifications the <code>preferences_changed</code> triggers send and publishes
+ * them as {@link PreferencesChangedEvent}s, one per user a notification lists or one for all users
+ * when it lists none. It holds a dedicated connection outside the pool: a LISTEN is bound to its
+ * session, and a pooled connection would be handed to other callers.
+ *
+ * <p>A lost connection is reopened with exponential backoff. Notifications sent in the meantime are
+ * gone, so every reconnect is published as a change of all users.
+ */
+@Slf4j
+public class PreferencesChangeListener implements SmartLifecycle {
+
+  static final String CHANNEL = "preferences_changed";
+
+  private final String endpoint;
+
+  private final String url;
+
+  private final String username;
+
+  private final String password;
+
+  private final CacheProperties.Invalidation invalidation;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final ObjectMapper objectMapper;
+
+  private final Timer lag;
+
+  private final Counter reconnects;
+
+  private volatile boolean running;
+
+  private volatile boolean connected;
+
+  private volatile Connection connection;
+
+  private Thread thread;
+
+  /**
+   * @param endpoint the name of the database in metrics and log messages
+   * @param url the JDBC url of the database
+   * @param username the user of the listening connection
+   * @param password the password of the listening connection
+   */
+  public PreferencesChangeListener(
+      String endpoint,
+      String url,
+      String username,
+      String password,
+      CacheProperties.Invalidation invalidation,
+      ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.endpoint = endpoint;
+    this.url = url;
+    this.username = username;
+    this.password = password;
+    this.invalidation = invalidation;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
+    this.lag =
+        Timer.builder("preferences.cache.invalidation.lag")
+            .description("Time from a change in the database until this replica is notified")
+            .tag("endpoint", endpoint)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.reconnects =
+        Counter.builder("preferences.cache.invalidation.reconnects")
+            .description("Reconnects of the change listener after its connection was lost")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry);
+    Gauge.builder("preferences.cache.invalidation.connected", this, l -> l.connected ? 1 : 0)
+        .description("Whether the change listener is currently listening")
+        .tag("endpoint", endpoint)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    thread = Thread.ofPlatform().daemon().name("preferences-listener-" + endpoint).start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    abortConnection();
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    var backoff = invalidation.minBackoff();
+    var reconnect = false;
+    while (running) {
+      try (var listening = DriverManager.getConnection(url, connectionProperties())) {
+        connection = listening;
+        try (var statement = listening.createStatement()) {
+          statement.execute("LISTEN " + CHANNEL);
+        }
+        connected = true;
+        backoff = invalidation.minBackoff();
+        if (reconnect) {
+          eventPublisher.publishEvent(PreferencesChangedEvent.all());
+        }
+        listen(listening);
+      } catch (SQLException ex) {
+        connected = false;
+        if (!running) {
+          return;
+        }
+        log.warn("Change listener for {} lost its connection: {}", endpoint, ex.getMessage());
+        reconnect = true;
+        reconnects.increment();
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+        backoff = min(backoff.multipliedBy(2), invalidation.maxBackoff());
+      }
+    }
+  }
+
+  private Properties connectionProperties() {
+    var properties = new Properties();
+    if (username != null) {
+      properties.setProperty("user", username);
+    }
+    if (password != null) {
+      properties.setProperty("password", password);
+    }
+    // shows up in pg_stat_activity
+    properties.setProperty("ApplicationName", "preferences-listener-" + endpoint);
+    return properties;
+  }
+
+  private void listen(Connection listening) throws SQLException {
+    var pgConnection = listening.unwrap(PGConnection.class);
+    var timeout = (int) invalidation.validationInterval().toMillis();
+    while (running) {
+      var notifications = pgConnection.getNotifications(timeout);
+      if (notifications == null || notifications.length == 0) {
+        // a half-open connection never delivers anything, so check it when there is nothing to do
+        if (!listening.isValid((int) Math.max(1, invalidation.validationInterval().toSeconds()))) {
+          throw new SQLException("Listening connection is no longer valid");
+        }
+        continue;
+      }
+      for (var notification : notifications) {
+        publish(notification);
+      }
+    }
+  }
+
+  private void publish(PGNotification notification) {
+    try {
+      var payload = objectMapper.readTree(notification.getParameter());
+      var userIds = payload.path("userIds");
+      var changedAt = Instant.ofEpochMilli(payload.path("changedAt").asLong());
+      // both clocks are only roughly in sync, clamp what would be a negative lag
+      lag.record(max(Duration.between(changedAt, Instant.now()), Duration.ZERO));
+      if (userIds.isArray()) {
+        // one notification per statement, carrying the users it changed
+        for (var changed : userIds) {
+          eventPublisher.publishEvent(new PreferencesChangedEvent(changed.asText(), changedAt));
+        }
+      } else {
+        // a TRUNCATE or a statement too large to list its users
+        eventPublisher.publishEvent(new PreferencesChangedEvent(null, changedAt));
+      }
+    } catch (IOException ex) {
+      log.warn("Ignoring invalid change notification {}", notification.getParameter());
+    }
+  }
+
+  private void abortConnection() {
+    var current = connection;
+    if (current != null) {
+      try {
+        // unlike close(), abort() does not wait for the blocked getNotifications call
+        current.abort(Runnable::run);
+      } catch (SQLException ex) {
+        log.debug("Aborting the listening connection failed", ex);
+      }
+    }
+  }
+
+  private static Duration min(Duration a, Duration b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+  private static Duration max(Duration a, Duration b) {
+    return a.compareTo(b) >= 0 ? a : b;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.cache;
+
+import java.time.Instant;
+
+/**
+ * The stored preferences of a user have changed, possibly on another replica.
+ *
+ * @param userId the id of the user, or null if the preferences of all users may have changed
+ * @param changedAt when the change happened according to the database clock
+ */
+public record PreferencesChangedEvent(String userId, Instant changedAt) {
+
+  /**
+   * @return an event for changes that cannot be attributed to single users, e.g. when notifications
+   *     may have been missed
+   */
+  public static PreferencesChangedEvent all() {
+    return new PreferencesChangedEvent(null, Instant.now());
+  }
+}
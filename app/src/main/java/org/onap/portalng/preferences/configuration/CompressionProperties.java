@@ -0,0 +1,37 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Compression of request and response bodies. Whether responses are compressed, from which size and
+ * for which content types is configured with the <code>server.compression</code> properties.
+ *
+ * @param level the level of gzip and deflate compressed responses, from 1 (fastest) to 9 (smallest)
+ * @param decompressRequests whether request bodies with <code>Content-Encoding: gzip</code> are
+ *     accepted
+ */
+@ConfigurationProperties("preferences.compression")
+public record CompressionProperties(
+    @DefaultValue("6") int level, @DefaultValue("true") boolean decompressRequests) {}
@@ -0,0 +1,91 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Creates JSON parsers, including the non-blocking ones that NDJSON streams are read with, wrapped
+ * in a {@link KeyLimitingParser}.
+ */
+class KeyLimitingJsonFactory extends MappingJsonFactory {
+
+  private final int maxKeys;
+
+  KeyLimitingJsonFactory(JsonFactory src, int maxKeys) {
+    super(src, null);
+    this.maxKeys = maxKeys;
+  }
+
+  @Override
+  public JsonFactory copy() {
+    return new KeyLimitingJsonFactory(this, maxKeys);
+  }
+
+  @Override
+  protected JsonParser _createParser(InputStream in, IOContext ctxt) throws IOException {
+    return limit(super._createParser(in, ctxt));
+  }
+
+  @Override
+  protected JsonParser _createParser(Reader r, IOContext ctxt) throws IOException {
+    return limit(super._createParser(r, ctxt));
+  }
+
+  @Override
+  protected JsonParser _createParser(
+      char[] data, int offset, int len, IOContext ctxt, boolean recyclable) throws IOException {
+    return limit(super._createParser(data, offset, len, ctxt, recyclable));
+  }
+
+  @Override
+  protected JsonParser _createParser(byte[] data, int offset, int len, IOContext ctxt)
+      throws IOException {
+    return limit(super._createParser(data, offset, len, ctxt));
+  }
+
+  @Override
+  protected JsonParser _createParser(DataInput input, IOContext ctxt) throws IOException {
+    return limit(super._createParser(input, ctxt));
+  }
+
+  @Override
+  public JsonParser createNonBlockingByteArrayParser() throws IOException {
+    return limit(super.createNonBlockingByteArrayParser());
+  }
+
+  @Override
+  public JsonParser createNonBlockingByteBufferParser() throws IOException {
+    return limit(super.createNonBlockingByteBufferParser());
+  }
+
+  private JsonParser limit(JsonParser parser) {
+    return new KeyLimitingParser(parser, maxKeys);
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.DataFormatReaders;
+
+/**
+ * A copy of an ObjectMapper for another data format whose readers wrap their parsers in a {@link
+ * KeyLimitingParser}. The binary factories declare their parser types as return types, so unlike
+ * {@link KeyLimitingJsonFactory} the parsers cannot be wrapped where they are created. Only values
+ * read through an {@link ObjectReader}, as the WebFlux decoders do, are limited.
+ */
+final class KeyLimitingObjectMapper extends ObjectMapper {
+
+  private final int maxKeys;
+
+  KeyLimitingObjectMapper(ObjectMapper src, JsonFactory factory, int maxKeys) {
+    super(src, factory);
+    this.maxKeys = maxKeys;
+  }
+
+  @Override
+  public ObjectMapper copy() {
+    return new KeyLimitingObjectMapper(this, getFactory().copy(), maxKeys);
+  }
+
+  @Override
+  protected ObjectReader _newReader(DeserializationConfig config) {
+    return new Reader(this, config);
+  }
+
+  @Override
+  protected ObjectReader _newReader(
+      DeserializationConfig config,
+      JavaType valueType,
+      Object valueToUpdate,
+      FormatSchema schema,
+      InjectableValues injectableValues) {
+    return new Reader(this, config, valueType, valueToUpdate, schema, injectableValues);
+  }
+
+  private final class Reader extends ObjectReader {
+
+    Reader(ObjectMapper mapper, DeserializationConfig config) {
+      super(mapper, config);
+    }
+
+    Reader(
+        ObjectMapper mapper,
+        DeserializationConfig config,
+        JavaType valueType,
+        Object valueToUpdate,
+        FormatSchema schema,
+        InjectableValues injectableValues) {
+      super(mapper, config, valueType, valueToUpdate, schema, injectableValues);
+    }
+
+    Reader(ObjectReader base, JsonFactory factory) {
+      super(base, factory);
+    }
+
+    Reader(ObjectReader base, DeserializationConfig config) {
+      super(base, config);
+    }
+
+    Reader(
+        ObjectReader base,
+        DeserializationConfig config,
+        JavaType valueType,
+        JsonDeserializer<Object> rootDeser,
+        Object valueToUpdate,
+        FormatSchema schema,
+        InjectableValues injectableValues,
+        DataFormatReaders dataFormatReaders) {
+      super(
+          base,
+          config,
+          valueType,
+          rootDeser,
+          valueToUpdate,
+          schema,
+          injectableValues,
+          dataFormatReaders);
+    }
+
+    @Override
+    protected ObjectReader _new(ObjectReader base, JsonFactory factory) {
+      return new Reader(base, factory);
+    }
+
+    @Override
+    protected ObjectReader _new(ObjectReader base, DeserializationConfig config) {
+      return new Reader(base, config);
+    }
+
+    @Override
+    protected ObjectReader _new(
+        ObjectReader base,
+        DeserializationConfig config,
+        JavaType valueType,
+        JsonDeserializer<Object> rootDeser,
+        Object valueToUpdate,
+        FormatSchema schema,
+        InjectableValues injectableValues,
+        DataFormatReaders dataFormatReaders) {
+      return new Reader(
+          base,
+          config,
+          valueType,
+          rootDeser,
+          valueToUpdate,
+          schema,
+          injectableValues,
+          dataFormatReaders);
+    }
+
+    @Override
+    protected JsonParser _considerFilter(JsonParser parser, boolean multiValue) {
+      return new KeyLimitingParser(super._considerFilter(parser, multiValue), maxKeys);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import java.io.IOException;
+
+/**
+ * Fails as soon as a document has more keys than allowed, before the document is materialized.
+ * Jackson's own {@link com.fasterxml.jackson.core.StreamReadConstraints} cover depth and lengths,
+ * but not the number of keys. The count starts over with every root level value, so each line of an
+ * NDJSON stream is limited on its own.
+ */
+final class KeyLimitingParser extends JsonParserDelegate {
+
+  private final int maxKeys;
+
+  private int keys;
+
+  KeyLimitingParser(JsonParser parser, int maxKeys) {
+    super(parser);
+    this.maxKeys = maxKeys;
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException {
+    var token = delegate.nextToken();
+    if (token == JsonToken.FIELD_NAME) {
+      if (++keys > maxKeys) {
+        throw new StreamConstraintsException(
+            "Document has more than " + maxKeys + " keys", currentLocation());
+      }
+    } else if ((token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY)
+        && delegate.getParsingContext().inRoot()) {
+      keys = 0;
+    }
+    return token;
+  }
+
+  @Override
+  public JsonToken nextValue() throws IOException {
+    var token = nextToken();
+    return token == JsonToken.FIELD_NAME ? nextToken() : token;
+  }
+}
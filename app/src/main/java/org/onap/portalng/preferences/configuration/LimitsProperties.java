@@ -0,0 +1,54 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limits of the JSON request bodies, enforced while they are decoded, and of the documents stored
+ * per user. Violations are answered with 413.
+ *
+ * @param maxBodySize the maximum size of a JSON body, or of each line of an NDJSON body. Decoding
+ *     stops as soon as more has been received
+ * @param maxDepth the maximum nesting depth of objects and arrays
+ * @param maxKeys the maximum number of keys of a document, counted over all levels
+ * @param quota the limit of the stored document of each user
+ */
+@ConfigurationProperties("preferences.limits")
+public record LimitsProperties(
+    @DefaultValue("256KB") DataSize maxBodySize,
+    @DefaultValue("64") int maxDepth,
+    @DefaultValue("10000") int maxKeys,
+    @DefaultValue Quota quota) {
+
+  /**
+   * A soft limit of the size of the stored document, checked before it is saved or patched.
+   * Concurrent patches of the same user can exceed it slightly.
+   *
+   * @param enabled whether the quota is enforced
+   * @param maxStoredSize the maximum size of the stored document as JSON text
+   */
+  public record Quota(
+      @DefaultValue("false") boolean enabled, @DefaultValue("256KB") DataSize maxStoredSize) {}
+}
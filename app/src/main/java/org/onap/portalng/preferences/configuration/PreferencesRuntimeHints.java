@@ -0,0 +1,85 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import java.util.stream.Stream;
+import org.onap.portalng.preferences.openapi.model.ImportResultApiDto;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.openapi.model.ProblemApiDto;
+import org.onap.portalng.preferences.openapi.model.ReshardResultApiDto;
+import org.onap.portalng.preferences.openapi.model.UserIdsApiDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * What a native image needs beyond the hints Spring AOT derives from the beans: the request and
+ * response models, which the generated interfaces only mention inside reactive types, the Jackson 2
+ * ObjectMapper Hibernate looks up by name to pick the FormatMapper of the jsonb column, and the
+ * Liquibase changelog with the changes and preconditions it instantiates reflectively.
+ */
+public class PreferencesRuntimeHints implements RuntimeHintsRegistrar {
+
+  private static final Class<?>[] MODELS = {
+    PreferencesApiDto.class,
+    UserPreferencesApiDto.class,
+    UserIdsApiDto.class,
+    ImportResultApiDto.class,
+    ReshardResultApiDto.class,
+    ProblemApiDto.class
+  };
+
+  private static final String[] HIBERNATE_JSON = {"com.fasterxml.jackson.databind.ObjectMapper"};
+
+  private static final String[] LIQUIBASE_CHANGES = {
+    "liquibase.change.core.RawSQLChange",
+    "liquibase.change.core.CreateTableChange",
+    "liquibase.change.core.CreateSequenceChange",
+    "liquibase.change.core.AddColumnChange",
+    "liquibase.change.AddColumnConfig",
+    "liquibase.change.ColumnConfig",
+    "liquibase.change.ConstraintsConfig",
+    "liquibase.precondition.core.PreconditionContainer",
+    "liquibase.precondition.core.SqlPrecondition",
+    "liquibase.precondition.core.TableExistsPrecondition"
+  };
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), MODELS);
+
+    Stream.concat(Stream.of(HIBERNATE_JSON), Stream.of(LIQUIBASE_CHANGES))
+        .forEach(
+            type ->
+                hints
+                    .reflection()
+                    .registerType(
+                        TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS));
+
+    hints.resources().registerPattern("db/changelog.xml").registerPattern("db/changelog/*.xml");
+  }
+}
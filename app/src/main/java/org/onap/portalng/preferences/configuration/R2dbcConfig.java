@@ -0,0 +1,73 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Wires the R2DBC client used by the reactive store. Only the plain spring-r2dbc client is on the
+ * classpath (no Boot R2DBC auto-configuration), so nothing R2DBC related is created unless <code>
+ * preferences.storage.type=r2dbc</code>. The pool is deliberately not exposed as a
+ * ConnectionFactory bean: Boot backs off the JDBC DataSource (and with it JPA and Liquibase) as
+ * soon as one exists.
+ */
+@Configuration
+@ConditionalOnProperty(name = "preferences.storage.type", havingValue = "r2dbc")
+public class R2dbcConfig implements DisposableBean {
+
+  private ConnectionPool connectionPool;
+
+  @Bean
+  DatabaseClient databaseClient(StorageProperties storageProperties) {
+    var r2dbc = storageProperties.r2dbc();
+    var connectionFactory =
+        ConnectionFactories.get(
+            ConnectionFactoryOptions.parse(r2dbc.url())
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, r2dbc.username())
+                .option(ConnectionFactoryOptions.PASSWORD, r2dbc.password())
+                .build());
+    connectionPool =
+        new ConnectionPool(
+            ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("preferences-r2dbc")
+                .maxSize(r2dbc.maxPoolSize())
+                .maxAcquireTime(r2dbc.maxAcquireTime())
+                .build());
+    return DatabaseClient.create(connectionPool);
+  }
+
+  @Override
+  public void destroy() {
+    if (connectionPool != null) {
+      connectionPool.dispose();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.onap.portalng.preferences.repository.ReadRoute;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Adds a read-only replica with its own connection pool next to the primary <code>
+ * spring.datasource</code>. Both pools sit behind the one DataSource that JPA, Liquibase and the
+ * JdbcTemplate use, which takes the connection from the pool of the {@link ReadRoute} of the
+ * current call. Only the reads the service routes explicitly leave the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "preferences.storage.replica.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    var dataSource =
+        dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("preferences-primary");
+    return dataSource;
+  }
+
+  @Bean
+  HikariDataSource replicaDataSource(StorageProperties storageProperties) {
+    var replica = storageProperties.replica();
+    var dataSource = new HikariDataSource();
+    dataSource.setPoolName("preferences-replica");
+    dataSource.setJdbcUrl(replica.url());
+    dataSource.setUsername(replica.username());
+    dataSource.setPassword(replica.password());
+    dataSource.setMaximumPoolSize(replica.maxPoolSize());
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+    return new ReadRoutingDataSource(primaryDataSource, replicaDataSource);
+  }
+
+  private static final class ReadRoutingDataSource extends AbstractRoutingDataSource {
+
+    ReadRoutingDataSource(DataSource primary, DataSource replica) {
+      setTargetDataSources(Map.of(ReadRoute.PRIMARY, primary, ReadRoute.REPLICA, replica));
+      setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+      return ReadRoute.current();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Accepts request bodies with <code>Content-Encoding: gzip</code>. The body is inflated while the
+ * codecs read it, one chunk at a time as they request more, so the limits of the JSON decoder apply
+ * to the inflated bytes and a small compressed body cannot expand into memory all at once. Other
+ * encodings are answered with 415 as described by RFC 7694.
+ */
+public class RequestDecompressionFilter implements WebFilter {
+
+  private static final String GZIP = "gzip";
+
+  private static final int CHUNK_SIZE = 8192;
+
+  /** How many compressed buffers are requested ahead of the inflater. */
+  private static final int DEMAND = 4;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    var encoding = exchange.getRequest().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+    if (encoding == null || encoding.isBlank() || "identity".equalsIgnoreCase(encoding.strip())) {
+      return chain.filter(exchange);
+    }
+    if (!GZIP.equalsIgnoreCase(encoding.strip())) {
+      var response = exchange.getResponse();
+      response.setStatusCode(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+      response.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+      return response.setComplete();
+    }
+
+    var request =
+        exchange
+            .getRequest()
+            .mutate()
+            .headers(
+                headers -> {
+                  headers.remove(HttpHeaders.CONTENT_ENCODING);
+                  headers.remove(HttpHeaders.CONTENT_LENGTH);
+                })
+            .build();
+    var bufferFactory = exchange.getResponse().bufferFactory();
+    var decompressed =
+        new ServerHttpRequestDecorator(request) {
+          @Override
+          public Flux<DataBuffer> getBody() {
+            return gunzip(super.getBody(), bufferFactory);
+          }
+        };
+    return chain.filter(exchange.mutate().request(decompressed).build());
+  }
+
+  /**
+   * Inflate a gzip stream (RFC 1952), possibly of several members, with the {@link GZIPInputStream}
+   * of the JDK. A chunk is only inflated when it is requested. The stream blocks while it waits for
+   * compressed bytes, so it is read on the bounded elastic scheduler.
+   *
+   * @param body the compressed bytes
+   * @param bufferFactory the factory of the inflated buffers
+   * @return the inflated bytes, or a {@link DecodingException} if the stream is malformed or
+   *     truncated
+   */
+  public static Flux<DataBuffer> gunzip(Flux<DataBuffer> body, DataBufferFactory bufferFactory) {
+    return DataBufferUtils.readInputStream(
+            () -> new GZIPInputStream(DataBufferUtils.subscriberInputStream(body, DEMAND)),
+            bufferFactory,
+            CHUNK_SIZE)
+        .subscribeOn(Schedulers.boundedElastic())
+        .onErrorMap(
+            IOException.class, ex -> new DecodingException("Malformed gzip request body", ex));
+  }
+}
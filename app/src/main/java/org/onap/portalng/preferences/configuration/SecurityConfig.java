@@ -36,6 +36,12 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
 @Configuration
 public class SecurityConfig {
 
+  /** Authority of tokens with the scope required for the bulk endpoints under /v1/admin. */
+  public static final String ADMIN_AUTHORITY = "SCOPE_preferences:admin";
+
+  /** Authority of services allowed to read the preferences of any user under /v1/lookup. */
+  public static final String LOOKUP_AUTHORITY = "SCOPE_preferences:lookup";
+
   @Bean
   public SecurityWebFilterChain springSecurityWebFilterChain(ServerHttpSecurity http) {
     return http.httpBasic(basic -> basic.disable())
@@ -47,6 +53,10 @@ public class SecurityConfig {
                 exchange
                     .pathMatchers(HttpMethod.GET, "/actuator/**")
                     .permitAll()
+                    .pathMatchers("/v1/admin/**")
+                    .hasAuthority(ADMIN_AUTHORITY)
+                    .pathMatchers("/v1/lookup/**")
+                    .hasAuthority(LOOKUP_AUTHORITY)
                     .anyExchange()
                     .authenticated())
         .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()))
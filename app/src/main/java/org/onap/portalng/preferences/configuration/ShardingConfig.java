@@ -0,0 +1,176 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.onap.portalng.preferences.repository.JpaPreferencesStore;
+import org.onap.portalng.preferences.repository.PersistenceScheduler;
+import org.onap.portalng.preferences.repository.ShardRoute;
+import org.onap.portalng.preferences.repository.ShardedPreferencesStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.liquibase.autoconfigure.LiquibaseProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Replaces the single <code>spring.datasource</code> with one connection pool per shard. The pools
+ * sit behind the one DataSource that JPA and the JdbcTemplate use, which takes the connection from
+ * the pool of the {@link ShardRoute} of the current call, and the {@link ShardedPreferencesStore}
+ * gives every call of the JPA store the route of its user. Liquibase migrates every shard.
+ */
+@Configuration
+@ConditionalOnProperty(name = "preferences.storage.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+  @Bean
+  @Primary
+  ShardedDataSource dataSource(StorageProperties storageProperties, MeterRegistry meterRegistry) {
+    validate(storageProperties);
+    var pools = new LinkedHashMap<String, HikariDataSource>();
+    for (var shard : storageProperties.sharding().shards()) {
+      var pool = new HikariDataSource();
+      pool.setPoolName("preferences-shard-" + shard.name());
+      pool.setJdbcUrl(shard.url());
+      pool.setUsername(shard.username());
+      pool.setPassword(shard.password());
+      pool.setMaximumPoolSize(shard.maxPoolSize());
+      // the pools are no beans, so Boot does not instrument them
+      pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      pools.put(shard.name(), pool);
+    }
+    return new ShardedDataSource(pools);
+  }
+
+  @Bean
+  @ConfigurationProperties("spring.liquibase")
+  LiquibaseProperties liquibaseProperties() {
+    return new LiquibaseProperties();
+  }
+
+  @Bean
+  SpringLiquibase liquibase(ShardedDataSource dataSource, LiquibaseProperties liquibaseProperties) {
+    var liquibase = new ShardedLiquibase(dataSource.shards());
+    liquibase.setChangeLog(liquibaseProperties.getChangeLog());
+    liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+    liquibase.setShouldRun(liquibaseProperties.isEnabled());
+    return liquibase;
+  }
+
+  @Bean
+  @Primary
+  ShardedPreferencesStore shardedPreferencesStore(
+      JpaPreferencesStore jpaPreferencesStore,
+      PersistenceScheduler persistenceScheduler,
+      JdbcTemplate jdbcTemplate,
+      StorageProperties storageProperties) {
+    var sharding = storageProperties.sharding();
+    return new ShardedPreferencesStore(
+        jpaPreferencesStore,
+        persistenceScheduler,
+        jdbcTemplate,
+        sharding.shards().stream().map(StorageProperties.Shard::name).toList(),
+        sharding.previousShards(),
+        sharding.virtualNodes());
+  }
+
+  private static void validate(StorageProperties storageProperties) {
+    var sharding = storageProperties.sharding();
+    if (storageProperties.type() != StorageProperties.Type.JPA) {
+      throw new IllegalStateException("Sharding is only supported by the JPA store");
+    }
+    if (storageProperties.replica().enabled()) {
+      throw new IllegalStateException("Sharding cannot be combined with a read replica");
+    }
+    if (sharding.shards().isEmpty()) {
+      throw new IllegalStateException("Sharding is enabled, but no shards are configured");
+    }
+    var names = new HashSet<String>();
+    for (var shard : sharding.shards()) {
+      if (shard.name() == null || !names.add(shard.name())) {
+        throw new IllegalStateException("Every shard needs a unique name: " + shard.name());
+      }
+    }
+    for (var previous : sharding.previousShards()) {
+      if (!names.contains(previous)) {
+        throw new IllegalStateException(
+            "Previous shard " + previous + " must stay configured until resharding completed");
+      }
+    }
+  }
+
+  /** Routes to the pool of the current {@link ShardRoute}, the first shard outside of a call. */
+  public static final class ShardedDataSource extends AbstractRoutingDataSource
+      implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> shards;
+
+    ShardedDataSource(Map<String, HikariDataSource> shards) {
+      this.shards = shards;
+      setTargetDataSources(Map.copyOf(shards));
+      setDefaultTargetDataSource(shards.values().iterator().next());
+    }
+
+    Map<String, HikariDataSource> shards() {
+      return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+      return ShardRoute.current();
+    }
+
+    @Override
+    public void close() {
+      shards.values().forEach(HikariDataSource::close);
+    }
+  }
+
+  /** Runs the changelog on every shard, one after the other. */
+  private static final class ShardedLiquibase extends SpringLiquibase {
+
+    private final Map<String, HikariDataSource> shards;
+
+    ShardedLiquibase(Map<String, HikariDataSource> shards) {
+      this.shards = shards;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+      for (DataSource shard : shards.values()) {
+        setDataSource(shard);
+        super.afterPropertiesSet();
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Selects how the <code>preferences</code> table is accessed. The schema is always managed by
+ * Liquibase over JDBC, independent of the selected type.
+ *
+ * @param type <code>jpa</code> (default) or <code>r2dbc</code>
+ * @param jpa execution settings of the blocking JPA store
+ * @param r2dbc connection settings of the R2DBC store
+ * @param replica the optional read replica the JPA store sends reads to
+ * @param sharding the optional distribution of the users over several databases
+ * @param rawReads whether stored documents are passed through to JSON responses as the text the
+ *     database returns, instead of being parsed and serialized again
+ */
+@ConfigurationProperties("preferences.storage")
+public record StorageProperties(
+    @DefaultValue("jpa") Type type,
+    @DefaultValue Jpa jpa,
+    @DefaultValue R2dbc r2dbc,
+    @DefaultValue Replica replica,
+    @DefaultValue Sharding sharding,
+    @DefaultValue("false") boolean rawReads) {
+
+  public enum Type {
+    JPA,
+    R2DBC
+  }
+
+  public enum Scheduler {
+    BOUNDED_ELASTIC,
+    VIRTUAL_THREADS
+  }
+
+  /**
+   * @param scheduler where the blocking repository calls run: Reactor's shared <code>
+   *     bounded-elastic</code> pool or one <code>virtual-threads</code> per call
+   * @param maxConcurrency how many calls may run at once on virtual threads, usually the size of
+   *     the connection pool so that the remaining calls wait without holding a connection
+   */
+  public record Jpa(
+      @DefaultValue("bounded-elastic") Scheduler scheduler,
+      @DefaultValue("10") int maxConcurrency) {}
+
+  /**
+   * @param url the R2DBC connection url, e.g. <code>r2dbc:postgresql://localhost:5432/preferences
+   *     </code>
+   * @param username the database user
+   * @param password the database password
+   * @param maxPoolSize the maximum number of pooled connections
+   * @param maxAcquireTime how long a request waits for a pooled connection before it fails
+   */
+  public record R2dbc(
+      String url,
+      String username,
+      String password,
+      @DefaultValue("10") int maxPoolSize,
+      @DefaultValue("5s") Duration maxAcquireTime) {}
+
+  /**
+   * @param enabled whether reads of the JPA store go to the replica. Writes, and reads that are
+   *     part of a write, always go to the primary <code>spring.datasource</code>
+   * @param url the JDBC url of the replica
+   * @param username the database user
+   * @param password the database password
+   * @param maxPoolSize the maximum number of pooled connections to the replica
+   * @param readYourWrites how long after a write the reads of the same user still go to the
+   *     primary; should exceed the replication lag
+   * @param maxTrackedUsers how many users with a recent write are remembered. Beyond that the
+   *     oldest are forgotten early and may read from the replica within the window
+   */
+  public record Replica(
+      @DefaultValue("false") boolean enabled,
+      String url,
+      String username,
+      String password,
+      @DefaultValue("10") int maxPoolSize,
+      @DefaultValue("5s") Duration readYourWrites,
+      @DefaultValue("100000") long maxTrackedUsers) {}
+
+  /**
+   * @param enabled whether the users are distributed over the configured shards instead of being
+   *     stored in <code>spring.datasource</code>. Only the JPA store is sharded, and not together
+   *     with a read replica
+   * @param shards the databases the users are distributed over by consistent hashing of their id
+   * @param previousShards the names of the shards before the last change of <code>shards</code>.
+   *     While set, a user not found on their shard is looked up on their previous one, and the
+   *     admin resharding moves the users whose shard changed. Clear it once resharding completed
+   * @param virtualNodes the number of points of each shard on the hash ring; must be the same on
+   *     all replicas and must not change while users are stored
+   */
+  public record Sharding(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue List<Shard> shards,
+      @DefaultValue List<String> previousShards,
+      @DefaultValue("256") int virtualNodes) {}
+
+  /**
+   * @param name the name of the shard, which decides its place on the hash ring; must not change
+   * @param url the JDBC url of the shard
+   * @param username the database user
+   * @param password the database password
+   * @param maxPoolSize the maximum number of pooled connections to the shard
+   */
+  public record Shard(
+      String name,
+      String url,
+      String username,
+      String password,
+      @DefaultValue("10") int maxPoolSize) {}
+}
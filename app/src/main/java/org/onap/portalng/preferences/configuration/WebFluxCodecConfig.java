@@ -21,30 +21,142 @@
 
 package org.onap.portalng.preferences.configuration;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.reactor.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.server.compression.DeflateOption;
+import reactor.netty.http.server.compression.GzipOption;
 
 /**
  * Boot 4 defaults the WebFlux JSON codec to Jackson 3, but the persisted {@code properties} column
  * is a Jackson 2 {@link com.fasterxml.jackson.databind.JsonNode} (Hibernate 7's JSON FormatMapper
  * only supports Jackson 2). Pin the WebFlux codec to the Jackson 2 {@link ObjectMapper} (provided
  * by the spring-boot-jackson2 bridge) so responses carrying that node serialize as real JSON rather
- * than the node's bean properties.
+ * than the node's bean properties. Service-to-service clients can exchange the same documents as
+ * CBOR or Smile instead, negotiated through Content-Type and Accept; they are read into the same
+ * {@link com.fasterxml.jackson.databind.JsonNode} that is stored for JSON.
+ *
+ * <p>The decoders enforce the {@link LimitsProperties} while the body is read: they stop buffering
+ * at the maximum body size and their parsers fail at the maximum depth or key count. Compressed
+ * request bodies are inflated in front of the codecs, so these limits apply to the inflated body.
  */
 @Configuration
 @RequiredArgsConstructor
 public class WebFluxCodecConfig implements WebFluxConfigurer {
 
+  // the binary codecs fall back to the JSON media types when constructed with a custom mapper
+  private static final MediaType APPLICATION_SMILE =
+      MediaType.valueOf("application/x-jackson-smile");
+
   private final ObjectMapper objectMapper;
 
+  private final LimitsProperties limitsProperties;
+
   @Override
   public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
-    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
-    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+    var codecs = configurer.defaultCodecs();
+    var maxKeys = limitsProperties.maxKeys();
+
+    var jsonDecoder =
+        new Jackson2JsonDecoder(
+            objectMapper.copyWith(
+                limited(new KeyLimitingJsonFactory(objectMapper.getFactory(), maxKeys))));
+    jsonDecoder.setMaxInMemorySize(maxInMemorySize());
+    codecs.jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+    codecs.jackson2JsonDecoder(jsonDecoder);
+
+    var cborMapper = new KeyLimitingObjectMapper(objectMapper, limited(new CBORFactory()), maxKeys);
+    var cborDecoder = new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR);
+    cborDecoder.setMaxInMemorySize(maxInMemorySize());
+    codecs.jacksonCborEncoder(new SingleValueCborEncoder(cborMapper));
+    codecs.jacksonCborDecoder(cborDecoder);
+
+    var smileMapper =
+        new KeyLimitingObjectMapper(objectMapper, limited(new SmileFactory()), maxKeys);
+    var smileDecoder = new Jackson2SmileDecoder(smileMapper, APPLICATION_SMILE);
+    smileDecoder.setMaxInMemorySize(maxInMemorySize());
+    codecs.jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, APPLICATION_SMILE));
+    codecs.jackson2SmileDecoder(smileDecoder);
+  }
+
+  private <F extends JsonFactory> F limited(F factory) {
+    factory.setStreamReadConstraints(
+        factory
+            .streamReadConstraints()
+            .rebuild()
+            .maxNestingDepth(limitsProperties.maxDepth())
+            .build());
+    return factory;
+  }
+
+  private int maxInMemorySize() {
+    return (int) limitsProperties.maxBodySize().toBytes();
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "preferences.compression.decompress-requests",
+      havingValue = "true",
+      matchIfMissing = true)
+  RequestDecompressionFilter requestDecompressionFilter() {
+    return new RequestDecompressionFilter();
+  }
+
+  /** Reactor Netty compresses with level 6 unless told otherwise. */
+  @Bean
+  NettyServerCustomizer compressionLevelCustomizer(CompressionProperties compressionProperties) {
+    var level = compressionProperties.level();
+    return server ->
+        server.compressOptions(
+            GzipOption.builder().compressionLevel(level).build(),
+            DeflateOption.builder().compressionLevel(level).build());
+  }
+
+  /**
+   * Spring's CBOR encoder rejects every publisher, even the single value a response body is written
+   * from. Encode that value like the other Jackson encoders do; streams stay unsupported.
+   */
+  private static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+    SingleValueCborEncoder(ObjectMapper mapper) {
+      super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+        Publisher<?> inputStream,
+        DataBufferFactory bufferFactory,
+        ResolvableType elementType,
+        MimeType mimeType,
+        Map<String, Object> hints) {
+      if (!(inputStream instanceof Mono<?> mono)) {
+        return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+      }
+      return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+          .flux();
+    }
   }
 }
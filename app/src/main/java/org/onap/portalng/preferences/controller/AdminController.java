@@ -0,0 +1,89 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.onap.portalng.preferences.exception.PayloadLimits;
+import org.onap.portalng.preferences.exception.ProblemException;
+import org.onap.portalng.preferences.openapi.api.AdminApi;
+import org.onap.portalng.preferences.openapi.model.ImportResultApiDto;
+import org.onap.portalng.preferences.openapi.model.ReshardResultApiDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.services.PreferencesTransferService;
+import org.onap.portalng.preferences.services.ReshardingService;
+import org.onap.portalng.preferences.util.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Bulk endpoints restricted to the admin scope by the {@code SecurityConfig}. */
+@RestController
+@RequiredArgsConstructor
+public class AdminController implements AdminApi {
+
+  private final PreferencesTransferService transferService;
+
+  private final ReshardingService reshardingService;
+
+  @Override
+  public Mono<ResponseEntity<Flux<UserPreferencesApiDto>>> exportPreferences(
+      ServerWebExchange exchange) {
+    return Mono.just(
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(transferService.exportPreferences()));
+  }
+
+  @Override
+  public Mono<ResponseEntity<ImportResultApiDto>> importPreferences(
+      Flux<UserPreferencesApiDto> userPreferences, ServerWebExchange exchange) {
+    return transferService
+        .importPreferences(userPreferences)
+        .map(imported -> ResponseEntity.ok(new ImportResultApiDto().imported(imported)))
+        .onErrorMap(PayloadLimits::isExceeded, PayloadLimits::tooLarge)
+        .onErrorResume(
+            ProblemException.class,
+            ex -> {
+              Logger.errorLog("preferences import", null, "preferences");
+              return Mono.error(ex);
+            })
+        .onErrorReturn(
+            ex -> !(ex instanceof ProblemException), new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+  }
+
+  @Override
+  public Mono<ResponseEntity<ReshardResultApiDto>> reshard(ServerWebExchange exchange) {
+    return reshardingService
+        .reshard()
+        .map(moved -> ResponseEntity.ok(new ReshardResultApiDto().moved(moved)))
+        .onErrorResume(
+            ProblemException.class,
+            ex -> {
+              Logger.errorLog("resharding", null, "preferences");
+              return Mono.error(ex);
+            });
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.onap.portalng.preferences.exception.ProblemException;
+import org.onap.portalng.preferences.openapi.api.LookupApi;
+import org.onap.portalng.preferences.openapi.model.UserIdsApiDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.services.PreferencesLookupService;
+import org.onap.portalng.preferences.util.Logger;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Lookups for other services, restricted to the lookup scope by the {@code SecurityConfig}. */
+@RestController
+@RequiredArgsConstructor
+public class LookupController implements LookupApi {
+
+  private final PreferencesLookupService lookupService;
+
+  @Override
+  public Mono<ResponseEntity<Flux<UserPreferencesApiDto>>> lookupPreferences(
+      Mono<UserIdsApiDto> userIds, ServerWebExchange exchange) {
+    // the number of users is checked before the response is committed
+    return userIds
+        .map(
+            body ->
+                ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(lookupService.getPreferences(body.getUserIds())))
+        .onErrorResume(
+            ProblemException.class,
+            ex -> {
+              Logger.errorLog("preferences lookup", null, "preferences");
+              return Mono.error(ex);
+            });
+  }
+}
@@ -21,38 +21,77 @@
 
 package org.onap.portalng.preferences.controller;
 
+import java.util.List;
+import java.util.Optional;
+import org.onap.portalng.preferences.exception.PayloadLimits;
 import org.onap.portalng.preferences.exception.ProblemException;
 import org.onap.portalng.preferences.openapi.api.PreferencesApi;
 import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.services.PreferencesChangeStream;
 import org.onap.portalng.preferences.services.PreferencesService;
+import org.onap.portalng.preferences.services.VersionedPreferences;
 import org.onap.portalng.preferences.util.IdTokenExchange;
 import org.onap.portalng.preferences.util.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
 public class PreferencesController implements PreferencesApi {
 
+  private static final List<MediaType> BINARY_FORMATS =
+      List.of(MediaType.APPLICATION_CBOR, MediaType.valueOf("application/x-jackson-smile"));
+
   private final PreferencesService preferencesService;
 
-  public PreferencesController(PreferencesService getPreferences) {
+  private final PreferencesChangeStream changeStream;
+
+  public PreferencesController(
+      PreferencesService getPreferences, PreferencesChangeStream changeStream) {
     this.preferencesService = getPreferences;
+    this.changeStream = changeStream;
   }
 
   @Override
-  public Mono<ResponseEntity<PreferencesApiDto>> getPreferences(ServerWebExchange exchange) {
+  public Mono<ResponseEntity<PreferencesApiDto>> getPreferences(
+      Optional<String> pointer, ServerWebExchange exchange) {
+    // JSON, CBOR and Smile are served under the same ETag, so caches have to tell them apart
+    exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
     return IdTokenExchange.extractUserId(exchange)
-        .flatMap(userid -> preferencesService.getPreferences(userid).map(ResponseEntity::ok))
+        .flatMap(
+            userid ->
+                pointer
+                    .filter(part -> !part.isEmpty())
+                    .map(
+                        part ->
+                            preferencesService.getPreferences(userid, part).map(ResponseEntity::ok))
+                    .orElseGet(() -> getDocument(userid, exchange)))
         .onErrorResume(
             ProblemException.class,
             ex -> {
               Logger.errorLog("user preferences", null, "preferences");
               return Mono.error(ex);
             })
-        .onErrorReturn(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        .onErrorReturn(
+            ex -> !(ex instanceof ProblemException), new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+  }
+
+  private Mono<ResponseEntity<PreferencesApiDto>> getDocument(
+      String userId, ServerWebExchange exchange) {
+    return notModified(userId, exchange)
+        .switchIfEmpty(
+            Mono.defer(
+                () ->
+                    (rendersJson(exchange)
+                            ? preferencesService.getJsonPreferences(userId)
+                            : preferencesService.getPreferences(userId))
+                        .map(PreferencesController::toResponse)));
   }
 
   @Override
@@ -61,14 +100,16 @@ public class PreferencesController implements PreferencesApi {
     return IdTokenExchange.extractUserId(exchange)
         .flatMap(
             userid -> preferences.flatMap(pref -> preferencesService.savePreferences(userid, pref)))
-        .map(ResponseEntity::ok)
+        .map(PreferencesController::toResponse)
+        .onErrorMap(PayloadLimits::isExceeded, PayloadLimits::tooLarge)
         .onErrorResume(
             ProblemException.class,
             ex -> {
               Logger.errorLog("user preferences", null, "preferences");
               return Mono.error(ex);
             })
-        .onErrorReturn(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        .onErrorReturn(
+            ex -> !(ex instanceof ProblemException), new ResponseEntity<>(HttpStatus.BAD_REQUEST));
   }
 
   @Override
@@ -76,4 +117,91 @@ public class PreferencesController implements PreferencesApi {
       Mono<PreferencesApiDto> preferences, ServerWebExchange exchange) {
     return savePreferences(preferences, exchange);
   }
+
+  @Override
+  public Mono<ResponseEntity<PreferencesApiDto>> patchPreferences(
+      Mono<PreferencesApiDto> preferences, ServerWebExchange exchange) {
+    return IdTokenExchange.extractUserId(exchange)
+        .flatMap(
+            userid ->
+                preferences.flatMap(pref -> preferencesService.patchPreferences(userid, pref)))
+        .map(PreferencesController::toResponse)
+        .onErrorMap(PayloadLimits::isExceeded, PayloadLimits::tooLarge)
+        .onErrorResume(
+            ProblemException.class,
+            ex -> {
+              Logger.errorLog("user preferences", null, "preferences");
+              return Mono.error(ex);
+            })
+        .onErrorReturn(
+            ex -> !(ex instanceof ProblemException), new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+  }
+
+  /**
+   * Streams the preferences as Server-Sent Events, with heartbeats in between. The limits of the
+   * change stream are checked when the body is subscribed, before anything is written, so a
+   * rejected stream is still answered with 429.
+   */
+  @Override
+  public Mono<ResponseEntity<Flux<Object>>> streamPreferences(ServerWebExchange exchange) {
+    return IdTokenExchange.extractUserId(exchange)
+        .map(
+            userid ->
+                ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(
+                        Flux.merge(
+                            preferencesService
+                                .streamPreferences(userid)
+                                .map(PreferencesController::toEvent),
+                            changeStream
+                                .heartbeats()
+                                .map(beat -> ServerSentEvent.builder().comment("").build()))));
+  }
+
+  private static ServerSentEvent<Object> toEvent(VersionedPreferences preferences) {
+    var event = ServerSentEvent.<Object>builder(preferences.preferences()).event("preferences");
+    if (preferences.version() != null) {
+      event.id(Long.toString(preferences.version()));
+    }
+    return event.build();
+  }
+
+  /**
+   * Answer a conditional GET with 304 when the <code>If-None-Match</code> header matches the
+   * version of the stored document. Only the version is looked up, the document itself is neither
+   * loaded nor serialized.
+   */
+  private Mono<ResponseEntity<PreferencesApiDto>> notModified(
+      String userId, ServerWebExchange exchange) {
+    if (exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()) {
+      return Mono.empty();
+    }
+    return preferencesService
+        .getPreferencesVersion(userId)
+        .map(PreferencesController::toETag)
+        .filter(exchange::checkNotModified)
+        .map(etag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+  }
+
+  /**
+   * Whether the response will be rendered as JSON, which is the only format a stored document can
+   * be passed through to as text. JSON is produced unless a binary format is asked for explicitly.
+   */
+  private static boolean rendersJson(ServerWebExchange exchange) {
+    return exchange.getRequest().getHeaders().getAccept().stream()
+        .noneMatch(accepted -> BINARY_FORMATS.stream().anyMatch(accepted::equalsTypeAndSubtype));
+  }
+
+  private static ResponseEntity<PreferencesApiDto> toResponse(VersionedPreferences preferences) {
+    var response = ResponseEntity.ok();
+    if (preferences.version() != null) {
+      response.eTag(toETag(preferences.version()));
+    }
+    return response.body(preferences.preferences());
+  }
+
+  private static String toETag(long version) {
+    return "\"" + version + "\"";
+  }
 }
@@ -22,12 +22,15 @@
 package org.onap.portalng.preferences.entities;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Generated;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.generator.EventType;
 import org.hibernate.type.SqlTypes;
 
 @Entity
@@ -39,4 +42,9 @@ public class PreferencesDto {
 
   @JdbcTypeCode(SqlTypes.JSON)
   private JsonNode properties;
+
+  /** Assigned by the database on every insert and update, used as the ETag of the document. */
+  @Generated(event = {EventType.INSERT, EventType.UPDATE})
+  @Column(insertable = false, updatable = false)
+  private Long version;
 }
@@ -0,0 +1,97 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.exception;
+
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.util.unit.DataSize;
+import org.zalando.problem.Status;
+
+/**
+ * Recognizes request bodies that exceed the {@code preferences.limits} and builds the 413 problems
+ * that answer them, and those of documents that exceed the quota of a user.
+ */
+public final class PayloadLimits {
+
+  private PayloadLimits() {}
+
+  /**
+   * Whether the given error, or one of its causes, was raised by the decoder because the body
+   * exceeds the maximum size, nesting depth or number of keys
+   *
+   * @param ex the error of the request
+   * @return true if the request should be answered with 413
+   */
+  public static boolean isExceeded(Throwable ex) {
+    for (var cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof DataBufferLimitException
+          || cause instanceof StreamConstraintsException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The problem that answers a body rejected by the decoder
+   *
+   * @param ex the error for which {@link #isExceeded(Throwable)} is true
+   * @return the problem
+   */
+  public static ProblemException tooLarge(Throwable ex) {
+    var cause = ex;
+    while (!(cause instanceof DataBufferLimitException)
+        && !(cause instanceof StreamConstraintsException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    var detail =
+        cause instanceof StreamConstraintsException constraints
+            ? constraints.getOriginalMessage()
+            : cause.getMessage();
+    return ProblemException.builder()
+        .title("Payload too large")
+        .status(Status.REQUEST_ENTITY_TOO_LARGE)
+        .detail(detail)
+        .build();
+  }
+
+  /**
+   * The problem that answers a save or patch that would exceed the quota of the user
+   *
+   * @param size the size of the resulting document in bytes
+   * @param quota the quota of the user
+   * @return the problem
+   */
+  public static ProblemException quotaExceeded(long size, DataSize quota) {
+    return ProblemException.builder()
+        .title("Preferences quota exceeded")
+        .status(Status.REQUEST_ENTITY_TOO_LARGE)
+        .detail(
+            "The preferences would take "
+                + size
+                + " bytes, at most "
+                + quota.toBytes()
+                + " bytes can be stored")
+        .build();
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.exception;
+
+import org.onap.portalng.preferences.openapi.model.ProblemApiDto;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/** Renders a {@link ProblemException} as an <code>application/problem+json</code> response. */
+@RestControllerAdvice
+public class ProblemExceptionHandler {
+
+  @ExceptionHandler(ProblemException.class)
+  public ResponseEntity<ProblemApiDto> handleProblem(ProblemException ex) {
+    var status = ex.getStatus() == null ? 500 : ex.getStatus().getStatusCode();
+    var problem =
+        new ProblemApiDto()
+            .type(ex.getType() == null ? null : ex.getType().toString())
+            .title(ex.getTitle())
+            .status(status)
+            .detail(ex.getDetail())
+            .instance(ex.getInstance() == null ? null : ex.getInstance().toString());
+    return ResponseEntity.status(status)
+        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .body(problem);
+  }
+}
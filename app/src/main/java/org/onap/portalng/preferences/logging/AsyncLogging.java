@@ -0,0 +1,117 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the appenders Spring Boot configured on the root logger behind {@link
+ * DroppingAsyncAppender}s once the application context starts, and puts them back on shutdown after
+ * the queued events have been flushed. An asynchronous appender appends to a single appender only,
+ * so each appender of the root logger gets one of its own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "logger.async.enabled", havingValue = "true")
+public class AsyncLogging implements InitializingBean, DisposableBean {
+
+  private final LoggerProperties loggerProperties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final List<Appender<ILoggingEvent>> delegates = new ArrayList<>();
+
+  private ch.qos.logback.classic.Logger root;
+
+  private final List<DroppingAsyncAppender> asyncAppenders = new ArrayList<>();
+
+  @Override
+  public void afterPropertiesSet() {
+    if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+      log.warn("Asynchronous logging needs Logback, log events are appended synchronously");
+      return;
+    }
+    var async = loggerProperties.async();
+    var dropped =
+        Counter.builder("logging.events.dropped")
+            .description("Log events dropped because the asynchronous logging queue was full")
+            .register(meterRegistry);
+
+    root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.iteratorForAppenders().forEachRemaining(delegates::add);
+    for (var delegate : delegates) {
+      var asyncAppender = new DroppingAsyncAppender(dropped::increment);
+      asyncAppender.setContext(context);
+      asyncAppender.setName("ASYNC-" + delegate.getName());
+      asyncAppender.setQueueSize(async.queueSize());
+      asyncAppender.setMaxFlushTime((int) async.maxFlushTime().toMillis());
+      asyncAppender.addAppender(delegate);
+      asyncAppender.start();
+      asyncAppenders.add(asyncAppender);
+    }
+
+    // attach before detaching, so no event is lost in between
+    asyncAppenders.forEach(root::addAppender);
+    delegates.forEach(root::detachAppender);
+
+    Gauge.builder("logging.events.queued", asyncAppenders, AsyncLogging::queued)
+        .description("Log events waiting to be appended")
+        .register(meterRegistry);
+  }
+
+  private static int queued(List<DroppingAsyncAppender> asyncAppenders) {
+    return asyncAppenders.stream()
+        .mapToInt(DroppingAsyncAppender::getNumberOfElementsInQueue)
+        .sum();
+  }
+
+  @Override
+  public void destroy() {
+    if (asyncAppenders.isEmpty()) {
+      return;
+    }
+    asyncAppenders.forEach(root::detachAppender);
+    // flushes the queues and stops the delegates
+    asyncAppenders.forEach(DroppingAsyncAppender::stop);
+    delegates.forEach(
+        delegate -> {
+          delegate.start();
+          root.addAppender(delegate);
+        });
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * An {@link AsyncAppender} that never blocks the logging thread: events that arrive while the queue
+ * is full are dropped and reported to the given callback. Nothing is discarded before the queue is
+ * full, regardless of the level.
+ */
+class DroppingAsyncAppender extends AsyncAppender {
+
+  private final Runnable onDropped;
+
+  DroppingAsyncAppender(Runnable onDropped) {
+    this.onDropped = onDropped;
+    setNeverBlock(true);
+    setDiscardingThreshold(0);
+  }
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    // concurrent appends can still fill the last slots in between, those few drops go uncounted
+    if (getRemainingCapacity() == 0) {
+      onDropped.run();
+      return;
+    }
+    super.append(event);
+  }
+}
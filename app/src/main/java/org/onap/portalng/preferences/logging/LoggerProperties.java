@@ -21,9 +21,48 @@
 
 package org.onap.portalng.preferences.logging;
 
+import java.time.Duration;
 import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
+/**
+ * Settings of the request logging.
+ *
+ * @param traceIdHeaderName the request header that carries the trace id
+ * @param enabled whether requests are logged
+ * @param excludePaths path patterns of requests that are not logged
+ * @param sampling which requests are logged
+ * @param async how log events are handed to the appenders
+ */
 @ConfigurationProperties("logger")
 public record LoggerProperties(
-    String traceIdHeaderName, Boolean enabled, List<String> excludePaths) {}
+    String traceIdHeaderName,
+    Boolean enabled,
+    List<String> excludePaths,
+    @DefaultValue Sampling sampling,
+    @DefaultValue Async async) {
+
+  /**
+   * Logs a sample of the successful requests. Failed requests and requests slower than the
+   * threshold are always logged, their <code>RECEIVED</code> line may be missing though.
+   *
+   * @param oneIn log one in this many successful requests, 1 logs every request
+   * @param slowThreshold requests that take longer are always logged
+   */
+  public record Sampling(
+      @DefaultValue("1") int oneIn, @DefaultValue("1s") Duration slowThreshold) {}
+
+  /**
+   * Appends the log events on a background thread, so a stdout that backs up does not stall the
+   * threads that log. Events that arrive while the queue is full are dropped and counted.
+   *
+   * @param enabled whether log events are appended asynchronously
+   * @param queueSize the maximum number of events waiting to be appended, per appender
+   * @param maxFlushTime how long the queued events are appended for on shutdown
+   */
+  public record Async(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("8192") int queueSize,
+      @DefaultValue("1s") Duration maxFlushTime) {}
+}
@@ -22,46 +22,48 @@
 package org.onap.portalng.preferences.logging;
 
 import java.util.Map;
-import java.util.function.BiConsumer;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.slf4j.Logger;
-import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class LoggingHelper {
   public static void error(
       Logger logger, Map<LogContextVariable, String> metadata, String message, Object... args) {
-    log(logger::error, metadata, message, args);
+    log(logger.atError(), metadata, message, args);
   }
 
   public static void debug(
       Logger logger, Map<LogContextVariable, String> metadata, String message, Object... args) {
-    log(logger::debug, metadata, message, args);
+    log(logger.atDebug(), metadata, message, args);
   }
 
   public static void info(
       Logger logger, Map<LogContextVariable, String> metadata, String message, Object... args) {
-    log(logger::info, metadata, message, args);
+    log(logger.atInfo(), metadata, message, args);
   }
 
   public static void warn(
       Logger logger, Map<LogContextVariable, String> metadata, String message, Object... args) {
-    log(logger::warn, metadata, message, args);
+    log(logger.atWarn(), metadata, message, args);
   }
 
   public static void trace(
       Logger logger, Map<LogContextVariable, String> metadata, String message, Object... args) {
-    log(logger::trace, metadata, message, args);
+    log(logger.atTrace(), metadata, message, args);
   }
 
+  /**
+   * The metadata is attached to the event as key-value pairs. Putting it into the MDC would copy it
+   * for every event and clearing it afterwards would also drop the tracing context.
+   */
   private static void log(
-      BiConsumer<String, Object[]> logMethod,
+      LoggingEventBuilder event,
       Map<LogContextVariable, String> metadata,
       String message,
       Object... args) {
-    metadata.forEach((variable, value) -> MDC.put(variable.getVariableName(), value));
-    logMethod.accept(message, args);
-    MDC.clear();
+    metadata.forEach((variable, value) -> event.addKeyValue(variable.getVariableName(), value));
+    event.log(message, args);
   }
 }
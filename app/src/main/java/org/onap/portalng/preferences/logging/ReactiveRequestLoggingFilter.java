@@ -21,66 +21,151 @@
 
 package org.onap.portalng.preferences.logging;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 import reactor.core.publisher.Mono;
 
+/**
+ * Logs requests when they are received and when they are finished, and records their execution
+ * time. With sampling only one in N successful requests is logged, failed and slow ones always are.
+ * The request metadata is attached to the log events as key-value pairs instead of being copied
+ * into the MDC for every event, and the exclude paths are parsed once at startup.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
 public class ReactiveRequestLoggingFilter implements WebFilter {
 
-  private final LoggerProperties loggerProperties;
+  private final boolean enabled;
+
+  private final String traceIdHeaderName;
+
+  private final List<PathPattern> excludePatterns;
+
+  private final int sampleOneIn;
+
+  private final long slowThresholdNanos;
+
+  private final Map<StatusCode, Timer> timers = new EnumMap<>(StatusCode.class);
+
+  public ReactiveRequestLoggingFilter(
+      LoggerProperties loggerProperties, MeterRegistry meterRegistry) {
+    this.enabled = Boolean.TRUE.equals(loggerProperties.enabled());
+    this.traceIdHeaderName = loggerProperties.traceIdHeaderName();
+    this.excludePatterns =
+        loggerProperties.excludePaths() == null
+            ? List.of()
+            : loggerProperties.excludePaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    this.sampleOneIn = loggerProperties.sampling().oneIn();
+    this.slowThresholdNanos = loggerProperties.sampling().slowThreshold().toNanos();
+    for (var status : List.of(StatusCode.COMPLETE, StatusCode.ERROR)) {
+      timers.put(
+          status,
+          Timer.builder("preferences.request.execution")
+              .description("Execution time of the requests logged by the request logging filter")
+              .tag(LogContextVariable.STATUS.getVariableName(), status.name())
+              .register(meterRegistry));
+    }
+  }
 
   @Override
   public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-    if (loggingDisabled(exchange)) {
+    if (!enabled || excluded(exchange)) {
       return chain.filter(exchange);
     }
 
-    var logMessageMetadata =
-        WebExchangeUtils.getRequestMetadata(exchange, loggerProperties.traceIdHeaderName());
-
-    LoggingHelper.info(log, logMessageMetadata, "RECEIVED");
+    var invocationStart = System.nanoTime();
+    var traceId = WebExchangeUtils.getRequestId(exchange, traceIdHeaderName);
+    var sampled = sampleOneIn <= 1 || ThreadLocalRandom.current().nextInt(sampleOneIn) == 0;
+    if (sampled && log.isInfoEnabled()) {
+      log.atInfo()
+          .addKeyValue(LogContextVariable.TRACE_ID.getVariableName(), traceId)
+          .addKeyValue(LogContextVariable.STATUS.getVariableName(), StatusCode.REQUEST.name())
+          .addKeyValue(
+              LogContextVariable.NORTHBOUND_METHOD.getVariableName(),
+              WebExchangeUtils.getRequestHttpMethod(exchange))
+          .addKeyValue(
+              LogContextVariable.NORTHBOUND_URL.getVariableName(),
+              WebExchangeUtils.getRequestUrl(exchange))
+          .log("RECEIVED");
+    }
 
-    var invocationStart = LocalDateTime.now();
     return chain
         .filter(exchange)
-        .doOnTerminate(
-            () -> {
-              logMessageMetadata.put(
-                  LogContextVariable.STATUS,
-                  exchange.getResponse().getStatusCode().isError()
-                      ? StatusCode.ERROR.name()
-                      : StatusCode.COMPLETE.name());
-              logMessageMetadata.put(
-                  LogContextVariable.HTTP_STATUS,
-                  String.valueOf(exchange.getResponse().getStatusCode().value()));
-              logMessageMetadata.put(
-                  LogContextVariable.EXECUTION_TIME,
-                  String.valueOf(
-                      Duration.between(invocationStart, LocalDateTime.now()).toMillis()));
-            })
-        .doOnSuccess(res -> LoggingHelper.info(log, logMessageMetadata, "FINISHED"))
-        .doOnError(
-            ex -> LoggingHelper.warn(log, logMessageMetadata, "FAILED: {}", ex.getMessage()));
+        .doOnSuccess(done -> finished(exchange, traceId, invocationStart, sampled, null))
+        .doOnError(ex -> finished(exchange, traceId, invocationStart, sampled, ex));
   }
 
-  private boolean loggingDisabled(ServerWebExchange exchange) {
-    boolean loggingDisabled = loggerProperties.enabled() == null || !loggerProperties.enabled();
+  private void finished(
+      ServerWebExchange exchange,
+      String traceId,
+      long invocationStart,
+      boolean sampled,
+      Throwable error) {
+    var executionTime = System.nanoTime() - invocationStart;
+    var httpStatus = exchange.getResponse().getStatusCode();
+    var status =
+        error != null || (httpStatus != null && httpStatus.isError())
+            ? StatusCode.ERROR
+            : StatusCode.COMPLETE;
+    timers.get(status).record(executionTime, TimeUnit.NANOSECONDS);
+    if (!sampled && status == StatusCode.COMPLETE && executionTime < slowThresholdNanos) {
+      return;
+    }
 
-    boolean urlShouldBeSkipped =
-        WebExchangeUtils.matchUrlsPatternsToPath(
-            loggerProperties.excludePaths(), exchange.getRequest().getPath().value());
+    var level = error == null ? Level.INFO : Level.WARN;
+    if (!log.isEnabledForLevel(level)) {
+      return;
+    }
+    var event =
+        log.atLevel(level)
+            .addKeyValue(LogContextVariable.TRACE_ID.getVariableName(), traceId)
+            .addKeyValue(LogContextVariable.STATUS.getVariableName(), status.name())
+            .addKeyValue(
+                LogContextVariable.NORTHBOUND_METHOD.getVariableName(),
+                WebExchangeUtils.getRequestHttpMethod(exchange))
+            .addKeyValue(
+                LogContextVariable.NORTHBOUND_URL.getVariableName(),
+                WebExchangeUtils.getRequestUrl(exchange))
+            .addKeyValue(
+                LogContextVariable.HTTP_STATUS.getVariableName(),
+                httpStatus == null ? null : httpStatus.value())
+            .addKeyValue(
+                LogContextVariable.EXECUTION_TIME.getVariableName(),
+                TimeUnit.NANOSECONDS.toMillis(executionTime));
+    if (error == null) {
+      event.log("FINISHED");
+    } else {
+      event.log("FAILED: {}", error.getMessage());
+    }
+  }
 
-    return loggingDisabled || urlShouldBeSkipped;
+  private boolean excluded(ServerWebExchange exchange) {
+    if (excludePatterns.isEmpty()) {
+      return false;
+    }
+    var path = exchange.getRequest().getPath().pathWithinApplication();
+    for (var pattern : excludePatterns) {
+      if (pattern.matches(path)) {
+        return true;
+      }
+    }
+    return false;
   }
 }
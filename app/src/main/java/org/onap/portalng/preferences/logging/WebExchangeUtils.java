@@ -22,12 +22,9 @@
 package org.onap.portalng.preferences.logging;
 
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.springframework.util.AntPathMatcher;
-import org.springframework.util.PathMatcher;
 import org.springframework.web.server.ServerWebExchange;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -36,8 +33,6 @@ public class WebExchangeUtils {
   private static final String DEFAULT_REQUEST_URL = "REQUEST_URL_IS_ABSENT";
   private static final String DEFAULT_REQUEST_METHOD = "HTTP_METHOD_IS_ABSENT";
 
-  private static final PathMatcher pathMatcher = new AntPathMatcher();
-
   public static String getRequestId(ServerWebExchange webExchange, String traceIdHeaderName) {
     if (webExchange == null || traceIdHeaderName == null) {
       return DEFAULT_TRACE_ID;
@@ -65,15 +60,6 @@ public class WebExchangeUtils {
     return webExchange.getRequest().getMethod().name();
   }
 
-  public static boolean matchUrlPatternToPath(String pattern, String path) {
-    return pathMatcher.match(pattern, path);
-  }
-
-  public static boolean matchUrlsPatternsToPath(List<String> patterns, String path) {
-    return patterns != null
-        && patterns.stream().anyMatch(pathPattern -> matchUrlPatternToPath(pathPattern, path));
-  }
-
   public static Map<LogContextVariable, String> getRequestMetadata(
       ServerWebExchange exchange, String traceIdHeaderName) {
     var traceId = WebExchangeUtils.getRequestId(exchange, traceIdHeaderName);
@@ -0,0 +1,220 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs the blocking {@link PreferencesRepository} calls off the Netty event loop on the {@link
+ * PersistenceScheduler}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    name = "preferences.storage.type",
+    havingValue = "jpa",
+    matchIfMissing = true)
+public class JpaPreferencesStore implements PreferencesStore {
+
+  private static final String BATCH_UPSERT =
+      """
+      INSERT INTO preferences (user_id, properties)
+      SELECT user_id, CAST(properties AS jsonb)
+      FROM unnest(CAST(? AS text[]), CAST(? AS text[])) AS batch(user_id, properties)
+      ON CONFLICT (user_id) DO UPDATE SET properties = EXCLUDED.properties
+      WHERE preferences.properties IS DISTINCT FROM EXCLUDED.properties
+      """;
+
+  private static final String FIND_PAGE =
+      """
+      SELECT user_id, CAST(properties AS text) AS properties, version FROM preferences
+      WHERE user_id > ? ORDER BY user_id LIMIT ?
+      """;
+
+  private static final String FIND_BY_IDS =
+      """
+      SELECT user_id, CAST(properties AS text) AS properties, version FROM preferences
+      WHERE user_id = ANY(?)
+      """;
+
+  private final PreferencesRepository repository;
+
+  private final PersistenceScheduler persistenceScheduler;
+
+  private final PreferencesDocuments documents;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Reads the document as text rather than through the entity, which spares the persistence context
+   * its snapshot of the document and lets {@link PreferencesDocuments} see its size.
+   */
+  @Override
+  public Mono<PreferencesDto> findById(String userId) {
+    return persistenceScheduler.schedule(
+        () ->
+            repository
+                .findRowById(userId)
+                .map(row -> documents.read(userId, row.getProperties(), row.getVersion()))
+                .orElse(null));
+  }
+
+  @Override
+  public Mono<RawPreferences> findRawById(String userId) {
+    return persistenceScheduler.schedule(
+        () ->
+            repository
+                .findRowById(userId)
+                .map(row -> documents.readRaw(userId, row.getProperties(), row.getVersion()))
+                .orElse(null));
+  }
+
+  @Override
+  public Mono<Long> findVersionById(String userId) {
+    return persistenceScheduler.schedule(() -> repository.findVersionById(userId).orElse(null));
+  }
+
+  @Override
+  public Mono<PreferencesDto> findByPointer(String userId, JsonPointer pointer) {
+    return persistenceScheduler.schedule(
+        () ->
+            repository
+                .findByPath(userId, documents.writePath(pointer))
+                .map(row -> documents.readFragment(userId, row.getProperties(), row.getVersion()))
+                .orElse(null));
+  }
+
+  @Override
+  public Flux<PreferencesDto> findAllById(List<String> userIds) {
+    return persistenceScheduler
+        .schedule(
+            () ->
+                jdbcTemplate.query(
+                    connection -> {
+                      var statement = connection.prepareStatement(FIND_BY_IDS);
+                      statement.setArray(1, connection.createArrayOf("text", userIds.toArray()));
+                      return statement;
+                    },
+                    (resultSet, rowNum) ->
+                        documents.read(
+                            resultSet.getString("user_id"),
+                            resultSet.getString("properties"),
+                            resultSet.getLong("version"))))
+        .flatMapIterable(Function.identity());
+  }
+
+  /**
+   * Reads the table page by page with keyset pagination on the primary key. Unlike a server-side
+   * cursor this keeps neither a connection nor a worker thread busy while the consumer is slow.
+   */
+  @Override
+  public Flux<PreferencesDto> findAll(int fetchSize) {
+    return findPage("", fetchSize)
+        .expand(
+            page ->
+                page.size() < fetchSize
+                    ? Mono.empty()
+                    : findPage(page.getLast().getUserId(), fetchSize))
+        .flatMapIterable(Function.identity());
+  }
+
+  private Mono<List<PreferencesDto>> findPage(String afterUserId, int fetchSize) {
+    return persistenceScheduler.schedule(
+        () ->
+            jdbcTemplate.query(
+                FIND_PAGE,
+                (resultSet, rowNum) ->
+                    documents.read(
+                        resultSet.getString("user_id"),
+                        resultSet.getString("properties"),
+                        resultSet.getLong("version")),
+                afterUserId,
+                fetchSize));
+  }
+
+  /**
+   * Saves with one native upsert instead of <code>repository.save</code>, which costs a SELECT
+   * before the INSERT or UPDATE plus a dirty check of the document.
+   */
+  @Override
+  public Mono<PreferencesDto> save(PreferencesDto preferencesDto) {
+    return persistenceScheduler.schedule(
+        () -> {
+          var userId = preferencesDto.getUserId();
+          var version =
+              repository
+                  .upsert(userId, documents.write(preferencesDto.getProperties()))
+                  .or(() -> repository.findVersionById(userId))
+                  .orElseThrow();
+          return documents.withVersion(preferencesDto, version);
+        });
+  }
+
+  /**
+   * Writes the batch as a single statement over two arrays, which is faster than a JDBC batch of
+   * one upsert per user.
+   */
+  @Override
+  public Mono<Void> saveAll(List<PreferencesDto> preferences) {
+    return persistenceScheduler
+        .schedule(
+            () -> {
+              // one statement must not update a row twice, so only the last entry of a user is kept
+              var latest = new LinkedHashMap<String, String>();
+              preferences.forEach(
+                  preferencesDto ->
+                      latest.put(
+                          preferencesDto.getUserId(),
+                          documents.write(preferencesDto.getProperties())));
+              return jdbcTemplate.update(
+                  connection -> {
+                    var statement = connection.prepareStatement(BATCH_UPSERT);
+                    statement.setArray(
+                        1, connection.createArrayOf("text", latest.keySet().toArray()));
+                    statement.setArray(
+                        2, connection.createArrayOf("text", latest.values().toArray()));
+                    return statement;
+                  });
+            })
+        .then();
+  }
+
+  @Override
+  public Mono<PreferencesDto> mergePatch(String userId, JsonNode patch) {
+    return persistenceScheduler.schedule(
+        () -> {
+          var row = repository.mergePatch(userId, documents.write(patch));
+          return documents.read(userId, row.getProperties(), row.getVersion());
+        });
+  }
+}
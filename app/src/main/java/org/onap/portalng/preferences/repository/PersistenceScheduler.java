@@ -0,0 +1,158 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.configuration.StorageProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs blocking persistence calls off the Netty event loop, either on Reactor's bounded-elastic
+ * pool or on virtual threads. Virtual threads are cheap to park, so in that mode every call gets
+ * its own thread and a fair semaphore sized like the connection pool limits how many of them touch
+ * the database at once. The time a call spends waiting for a worker (and a permit) is recorded as
+ * <code>preferences.persistence.queue</code>, the time it then runs as <code>
+ * preferences.persistence.execution</code>, both tagged with the {@link ReadRoute} and the shard of
+ * the call (<code>default</code> without sharding).
+ */
+@Component
+public class PersistenceScheduler implements DisposableBean {
+
+  private final Scheduler scheduler;
+
+  private final Semaphore permits;
+
+  private static final String DEFAULT_SHARD = "default";
+
+  private final Map<String, Map<ReadRoute, Timer>> queueTimers = new HashMap<>();
+
+  private final Map<String, Map<ReadRoute, Timer>> executionTimers = new HashMap<>();
+
+  public PersistenceScheduler(StorageProperties storageProperties, MeterRegistry meterRegistry) {
+    var jpa = storageProperties.jpa();
+    if (jpa.scheduler() == StorageProperties.Scheduler.VIRTUAL_THREADS) {
+      this.scheduler =
+          Schedulers.fromExecutorService(
+              Executors.newThreadPerTaskExecutor(
+                  Thread.ofVirtual().name("preferences-persistence-", 0).factory()),
+              "preferences-persistence");
+      this.permits = new Semaphore(jpa.maxConcurrency(), true);
+      Gauge.builder("preferences.persistence.waiting", permits, Semaphore::getQueueLength)
+          .description("Persistence calls waiting for a database permit")
+          .register(meterRegistry);
+    } else {
+      this.scheduler = Schedulers.boundedElastic();
+      this.permits = null;
+    }
+    var sharding = storageProperties.sharding();
+    var shards =
+        sharding.enabled()
+            ? sharding.shards().stream().map(StorageProperties.Shard::name).toList()
+            : List.of(DEFAULT_SHARD);
+    for (var shard : shards) {
+      var queue = new EnumMap<ReadRoute, Timer>(ReadRoute.class);
+      var execution = new EnumMap<ReadRoute, Timer>(ReadRoute.class);
+      for (var route : ReadRoute.values()) {
+        queue.put(
+            route,
+            Timer.builder("preferences.persistence.queue")
+                .description("Time a persistence call waits before it starts executing")
+                .tag("scheduler", jpa.scheduler().name().toLowerCase())
+                .tag("route", route.name().toLowerCase())
+                .tag("shard", shard)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        execution.put(
+            route,
+            Timer.builder("preferences.persistence.execution")
+                .description("Time a persistence call spends executing, mostly in the database")
+                .tag("scheduler", jpa.scheduler().name().toLowerCase())
+                .tag("route", route.name().toLowerCase())
+                .tag("shard", shard)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+      }
+      queueTimers.put(shard, queue);
+      executionTimers.put(shard, execution);
+    }
+  }
+
+  /**
+   * Run the given blocking call on the configured scheduler, against the database of the {@link
+   * ReadRoute} and the {@link ShardRoute} in the subscriber context
+   *
+   * @param call the blocking call, may return null for an empty result
+   * @return a Mono that emits the result of the call
+   */
+  public <T> Mono<T> schedule(Callable<T> call) {
+    return Mono.deferContextual(
+        context -> {
+          var route = context.getOrDefault(ReadRoute.class, ReadRoute.PRIMARY);
+          String shard = context.getOrDefault(ShardRoute.class, null);
+          var queueTimer = queueTimers.get(shard == null ? DEFAULT_SHARD : shard).get(route);
+          var executionTimer =
+              executionTimers.get(shard == null ? DEFAULT_SHARD : shard).get(route);
+          long enqueued = System.nanoTime();
+          return Mono.fromCallable(
+                  () -> {
+                    if (permits != null) {
+                      permits.acquire();
+                    }
+                    long started = System.nanoTime();
+                    try {
+                      queueTimer.record(started - enqueued, TimeUnit.NANOSECONDS);
+                      return shard == null
+                          ? route.call(call)
+                          : route.call(() -> ShardRoute.call(shard, call));
+                    } finally {
+                      executionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                      if (permits != null) {
+                        permits.release();
+                      }
+                    }
+                  })
+              .subscribeOn(scheduler);
+        });
+  }
+
+  @Override
+  public void destroy() {
+    // the bounded-elastic pool is shared with the rest of the application
+    if (scheduler != Schedulers.boundedElastic()) {
+      scheduler.dispose();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts the jsonb <code>properties</code> column between its text form, as used by the native
+ * statements, and the Jackson 2 {@link JsonNode} Hibernate maps it to.
+ *
+ * <p>Since every document passes through here as text anyway, this is also where the size (UTF-8
+ * bytes) and the number of top level keys of the documents written by requests and of the stored
+ * documents read back are recorded.
+ */
+@Component
+class PreferencesDocuments {
+
+  private final ObjectMapper objectMapper;
+
+  private final DistributionSummary requestBytes;
+
+  private final DistributionSummary requestKeys;
+
+  private final DistributionSummary storedBytes;
+
+  private final DistributionSummary storedKeys;
+
+  PreferencesDocuments(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.requestBytes = bytes("request", meterRegistry);
+    this.requestKeys = keys("request", meterRegistry);
+    this.storedBytes = bytes("stored", meterRegistry);
+    this.storedKeys = keys("stored", meterRegistry);
+  }
+
+  private static DistributionSummary bytes(String document, MeterRegistry meterRegistry) {
+    return DistributionSummary.builder("preferences.document.size")
+        .description("Size of the preference documents as JSON text")
+        .baseUnit("bytes")
+        .tag("document", document)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(64.0)
+        .maximumExpectedValue(16.0 * 1024 * 1024)
+        .register(meterRegistry);
+  }
+
+  private static DistributionSummary keys(String document, MeterRegistry meterRegistry) {
+    return DistributionSummary.builder("preferences.document.keys")
+        .description("Number of top level keys of the preference documents")
+        .tag("document", document)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(1.0)
+        .maximumExpectedValue(10_000.0)
+        .register(meterRegistry);
+  }
+
+  /** Serialize a document that is written on behalf of a request. */
+  String write(JsonNode properties) {
+    if (properties == null) {
+      return null;
+    }
+    String text;
+    try {
+      text = objectMapper.writeValueAsString(properties);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Preferences cannot be serialized", e);
+    }
+    requestBytes.record(utf8Length(text));
+    requestKeys.record(properties.size());
+    return text;
+  }
+
+  /**
+   * Render a JSON Pointer as the Postgres <code>text[]</code> literal the <code>#&gt;</code>
+   * operator takes, e.g. <code>/dashboard/layout</code> as <code>{"dashboard","layout"}</code>.
+   */
+  String writePath(JsonPointer pointer) {
+    var elements = new ArrayList<String>();
+    for (var current = pointer; !current.matches(); current = current.tail()) {
+      var token = current.getMatchingProperty().replace("\\", "\\\\").replace("\"", "\\\"");
+      elements.add('"' + token + '"');
+    }
+    return "{" + String.join(",", elements) + "}";
+  }
+
+  /** Parse a stored document. */
+  PreferencesDto read(String userId, String properties, Long version) {
+    var preferencesDto = readFragment(userId, properties, version);
+    if (properties != null) {
+      storedBytes.record(utf8Length(properties));
+      storedKeys.record(preferencesDto.getProperties().size());
+    }
+    return preferencesDto;
+  }
+
+  /**
+   * Hand out a stored document as text. Only its size is recorded, counting its keys would take the
+   * parse this read is meant to save.
+   */
+  RawPreferences readRaw(String userId, String properties, Long version) {
+    if (properties != null) {
+      storedBytes.record(utf8Length(properties));
+    }
+    return new RawPreferences(userId, properties, version);
+  }
+
+  /** Parse a part of a stored document, e.g. the value at a path, without recording its size. */
+  PreferencesDto readFragment(String userId, String properties, Long version) {
+    var preferencesDto = new PreferencesDto();
+    preferencesDto.setUserId(userId);
+    preferencesDto.setVersion(version);
+    try {
+      preferencesDto.setProperties(properties == null ? null : objectMapper.readTree(properties));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Stored preferences of user " + userId + " are invalid", e);
+    }
+    return preferencesDto;
+  }
+
+  private static long utf8Length(String text) {
+    long length = text.length();
+    for (var i = 0; i < text.length(); i++) {
+      var c = text.charAt(i);
+      if (c >= 0x80) {
+        // two bytes up to U+07FF, three above; a surrogate pair is four bytes, two per char
+        length += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+      }
+    }
+    return length;
+  }
+
+  PreferencesDto withVersion(PreferencesDto preferencesDto, Long version) {
+    var saved = new PreferencesDto();
+    saved.setUserId(preferencesDto.getUserId());
+    saved.setProperties(preferencesDto.getProperties());
+    saved.setVersion(version);
+    return saved;
+  }
+}
@@ -21,10 +21,12 @@
 
 package org.onap.portalng.preferences.repository;
 
+import java.util.Optional;
 import org.onap.portalng.preferences.entities.PreferencesDto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,4 +36,87 @@ public interface PreferencesRepository extends JpaRepository<PreferencesDto, Str
   @Transactional
   @Query(value = "TRUNCATE TABLE preferences", nativeQuery = true)
   void truncateTable();
+
+  @Query("SELECT p.version FROM PreferencesDto p WHERE p.userId = :userId")
+  Optional<Long> findVersionById(@Param("userId") String userId);
+
+  /**
+   * Read the stored document of a user as JSON text
+   *
+   * @param userId the id of the user
+   * @return the document and its version
+   */
+  @Query(
+      value =
+          """
+          SELECT CAST(properties AS text) AS properties, version
+          FROM preferences WHERE user_id = :userId
+          """,
+      nativeQuery = true)
+  Optional<PreferencesRow> findRowById(@Param("userId") String userId);
+
+  /**
+   * Extract the value at a path of the stored document of a user
+   *
+   * @param userId the id of the user
+   * @param path the path as a <code>text[]</code> literal
+   * @return the value at the path as JSON text (null if there is none) and the document version
+   */
+  @Query(
+      value =
+          """
+          SELECT CAST(properties #> CAST(:path AS text[]) AS text) AS properties, version
+          FROM preferences WHERE user_id = :userId
+          """,
+      nativeQuery = true)
+  Optional<PreferencesRow> findByPath(@Param("userId") String userId, @Param("path") String path);
+
+  /**
+   * Insert or replace the stored document of a user in a single statement. The row is left alone
+   * when the document is unchanged, so the version and with it the ETag stay stable.
+   *
+   * @param userId the id of the user
+   * @param properties the document as JSON text
+   * @return the version of the stored document. Empty only if a concurrent insert of the same user
+   *     is not yet visible to this statement
+   */
+  @Transactional
+  @Query(
+      value =
+          """
+          WITH upserted AS (
+            INSERT INTO preferences (user_id, properties)
+            VALUES (:userId, CAST(:properties AS jsonb))
+            ON CONFLICT (user_id) DO UPDATE SET properties = EXCLUDED.properties
+            WHERE preferences.properties IS DISTINCT FROM EXCLUDED.properties
+            RETURNING version
+          )
+          SELECT version FROM upserted
+          UNION ALL
+          SELECT version FROM preferences
+          WHERE user_id = :userId AND NOT EXISTS (SELECT FROM upserted)
+          """,
+      nativeQuery = true)
+  Optional<Long> upsert(@Param("userId") String userId, @Param("properties") String properties);
+
+  /**
+   * Apply a JSON Merge Patch to the stored document of a user in a single statement. A user without
+   * stored preferences gets the patch applied to an empty document.
+   *
+   * @param userId the id of the user
+   * @param patch the merge patch as JSON text
+   * @return the patched document
+   */
+  @Transactional
+  @Query(
+      value =
+          """
+          INSERT INTO preferences (user_id, properties)
+          VALUES (:userId, jsonb_merge_patch(NULL, CAST(:patch AS jsonb)))
+          ON CONFLICT (user_id) DO UPDATE
+          SET properties = jsonb_merge_patch(preferences.properties, CAST(:patch AS jsonb))
+          RETURNING CAST(properties AS text) AS properties, version
+          """,
+      nativeQuery = true)
+  PreferencesRow mergePatch(@Param("userId") String userId, @Param("patch") String patch);
 }
@@ -0,0 +1,117 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive access to the <code>preferences</code> table. The implementation is selected with <code>
+ * preferences.storage.type</code>: either the blocking JPA repository offloaded to a worker
+ * scheduler ({@link JpaPreferencesStore}) or a non-blocking R2DBC client ({@link
+ * R2dbcPreferencesStore}).
+ */
+public interface PreferencesStore {
+
+  /**
+   * Find the stored preferences of the given user
+   *
+   * @param userId the id of the user
+   * @return the stored preferences or an empty Mono if the user has none
+   */
+  Mono<PreferencesDto> findById(String userId);
+
+  /**
+   * Find the version of the stored preferences of the given user without loading the document
+   *
+   * @param userId the id of the user
+   * @return the version or an empty Mono if the user has no stored preferences
+   */
+  Mono<Long> findVersionById(String userId);
+
+  /**
+   * Find the stored preferences of the given user as JSON text, without parsing the document
+   *
+   * @param userId the id of the user
+   * @return the stored preferences or an empty Mono if the user has none
+   */
+  Mono<RawPreferences> findRawById(String userId);
+
+  /**
+   * Find the part of the stored preferences of the given user a JSON Pointer refers to. Only that
+   * part is extracted and transferred by the database.
+   *
+   * @param userId the id of the user
+   * @param pointer the JSON Pointer into the properties document
+   * @return preferences whose properties are the value at the pointer (null if there is none), or
+   *     an empty Mono if the user has no stored preferences
+   */
+  Mono<PreferencesDto> findByPointer(String userId, JsonPointer pointer);
+
+  /**
+   * Find the stored preferences of several users with one query
+   *
+   * @param userIds the ids of the users
+   * @return the stored preferences in no particular order; users without stored preferences are
+   *     left out
+   */
+  Flux<PreferencesDto> findAllById(List<String> userIds);
+
+  /**
+   * Stream the stored preferences of all users ordered by user id. The table is read in chunks of
+   * the given size as they are requested, it is never loaded as a whole.
+   *
+   * @param fetchSize the number of rows read from the database at a time
+   * @return the preferences of all users
+   */
+  Flux<PreferencesDto> findAll(int fetchSize);
+
+  /**
+   * Insert or replace the preferences of a user
+   *
+   * @param preferencesDto the preferences to store
+   * @return the stored preferences with their new version
+   */
+  Mono<PreferencesDto> save(PreferencesDto preferencesDto);
+
+  /**
+   * Insert or replace the preferences of several users as one batch
+   *
+   * @param preferences the preferences to store; of several entries of a user the last one wins
+   * @return a Mono that completes when the batch is stored
+   */
+  Mono<Void> saveAll(List<PreferencesDto> preferences);
+
+  /**
+   * Apply a JSON Merge Patch (RFC 7386) to the stored preferences of a user. The merge runs inside
+   * the database, the stored document is not loaded beforehand.
+   *
+   * @param userId the id of the user
+   * @param patch the merge patch for the properties document
+   * @return the patched preferences
+   */
+  Mono<PreferencesDto> mergePatch(String userId, JsonNode patch);
+}
@@ -0,0 +1,242 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.r2dbc.postgresql.codec.Json;
+import java.util.LinkedHashMap;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the <code>preferences</code> table through R2DBC. The jsonb column is read
+ * as text and parsed with the same Jackson 2 ObjectMapper that Hibernate uses, so both stores hand
+ * out identical {@link JsonNode} documents.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "preferences.storage.type", havingValue = "r2dbc")
+public class R2dbcPreferencesStore implements PreferencesStore {
+
+  private static final String FIND_BY_ID =
+      "SELECT properties::text AS properties, version FROM preferences WHERE user_id = :userId";
+
+  private static final String FIND_VERSION_BY_ID =
+      "SELECT version FROM preferences WHERE user_id = :userId";
+
+  private static final String FIND_BY_IDS =
+      """
+      SELECT user_id, properties::text AS properties, version FROM preferences
+      WHERE user_id = ANY(:userIds)
+      """;
+
+  private static final String FIND_ALL =
+      "SELECT user_id, properties::text AS properties, version FROM preferences ORDER BY user_id";
+
+  private static final String FIND_BY_PATH =
+      """
+      SELECT (properties #> CAST(:path AS text[]))::text AS properties, version
+      FROM preferences WHERE user_id = :userId
+      """;
+
+  private static final String UPSERT =
+      """
+      WITH upserted AS (
+        INSERT INTO preferences (user_id, properties) VALUES (:userId, :properties)
+        ON CONFLICT (user_id) DO UPDATE SET properties = EXCLUDED.properties
+        WHERE preferences.properties IS DISTINCT FROM EXCLUDED.properties
+        RETURNING version
+      )
+      SELECT version FROM upserted
+      UNION ALL
+      SELECT version FROM preferences
+      WHERE user_id = :userId AND NOT EXISTS (SELECT FROM upserted)
+      """;
+
+  private static final String BATCH_UPSERT =
+      """
+      INSERT INTO preferences (user_id, properties)
+      SELECT user_id, CAST(properties AS jsonb)
+      FROM unnest(CAST(:userIds AS text[]), CAST(:properties AS text[])) AS batch(user_id, properties)
+      ON CONFLICT (user_id) DO UPDATE SET properties = EXCLUDED.properties
+      WHERE preferences.properties IS DISTINCT FROM EXCLUDED.properties
+      """;
+
+  private static final String MERGE_PATCH =
+      """
+      INSERT INTO preferences (user_id, properties)
+      VALUES (:userId, jsonb_merge_patch(NULL, :patch))
+      ON CONFLICT (user_id) DO UPDATE
+      SET properties = jsonb_merge_patch(preferences.properties, :patch)
+      RETURNING properties::text AS properties, version
+      """;
+
+  private final DatabaseClient databaseClient;
+
+  private final PreferencesDocuments documents;
+
+  @Override
+  public Mono<PreferencesDto> findById(String userId) {
+    return databaseClient
+        .sql(FIND_BY_ID)
+        .bind("userId", userId)
+        .map(
+            row ->
+                documents.read(
+                    userId, row.get("properties", String.class), row.get("version", Long.class)))
+        .one();
+  }
+
+  @Override
+  public Mono<RawPreferences> findRawById(String userId) {
+    return databaseClient
+        .sql(FIND_BY_ID)
+        .bind("userId", userId)
+        .map(
+            row ->
+                documents.readRaw(
+                    userId, row.get("properties", String.class), row.get("version", Long.class)))
+        .one();
+  }
+
+  @Override
+  public Mono<Long> findVersionById(String userId) {
+    return databaseClient
+        .sql(FIND_VERSION_BY_ID)
+        .bind("userId", userId)
+        .map(row -> row.get("version", Long.class))
+        .one();
+  }
+
+  @Override
+  public Mono<PreferencesDto> findByPointer(String userId, JsonPointer pointer) {
+    return Mono.defer(
+        () ->
+            databaseClient
+                .sql(FIND_BY_PATH)
+                .bind("userId", userId)
+                .bind("path", documents.writePath(pointer))
+                .map(
+                    row ->
+                        documents.readFragment(
+                            userId,
+                            row.get("properties", String.class),
+                            row.get("version", Long.class)))
+                .one());
+  }
+
+  @Override
+  public Flux<PreferencesDto> findAllById(List<String> userIds) {
+    return databaseClient
+        .sql(FIND_BY_IDS)
+        .bind("userIds", userIds.toArray(String[]::new))
+        .map(
+            row ->
+                documents.read(
+                    row.get("user_id", String.class),
+                    row.get("properties", String.class),
+                    row.get("version", Long.class)))
+        .all();
+  }
+
+  /**
+   * Reads the table through a portal that fetches the given number of rows at a time, driven by the
+   * demand of the subscriber.
+   */
+  @Override
+  public Flux<PreferencesDto> findAll(int fetchSize) {
+    return databaseClient
+        .sql(FIND_ALL)
+        .filter(statement -> statement.fetchSize(fetchSize))
+        .map(
+            row ->
+                documents.read(
+                    row.get("user_id", String.class),
+                    row.get("properties", String.class),
+                    row.get("version", Long.class)))
+        .all();
+  }
+
+  @Override
+  public Mono<PreferencesDto> save(PreferencesDto preferencesDto) {
+    return Mono.defer(
+            () -> {
+              var properties = documents.write(preferencesDto.getProperties());
+              var spec = databaseClient.sql(UPSERT).bind("userId", preferencesDto.getUserId());
+              spec =
+                  properties == null
+                      ? spec.bindNull("properties", Json.class)
+                      : spec.bind("properties", Json.of(properties));
+              return spec.map(row -> row.get("version", Long.class)).one();
+            })
+        .switchIfEmpty(Mono.defer(() -> findVersionById(preferencesDto.getUserId())))
+        .map(version -> documents.withVersion(preferencesDto, version));
+  }
+
+  /**
+   * Writes the batch as a single statement over two arrays. A statement with one binding per user
+   * is executed binding by binding by the driver, which is several times slower.
+   */
+  @Override
+  public Mono<Void> saveAll(List<PreferencesDto> preferences) {
+    return Mono.defer(
+        () -> {
+          // one statement must not update a row twice, so only the last entry of a user is kept
+          var latest = new LinkedHashMap<String, String>();
+          preferences.forEach(
+              preferencesDto ->
+                  latest.put(
+                      preferencesDto.getUserId(), documents.write(preferencesDto.getProperties())));
+          return databaseClient
+              .sql(BATCH_UPSERT)
+              .bind("userIds", latest.keySet().toArray(String[]::new))
+              .bind("properties", latest.values().toArray(String[]::new))
+              .then();
+        });
+  }
+
+  @Override
+  public Mono<PreferencesDto> mergePatch(String userId, JsonNode patch) {
+    return Mono.defer(
+        () -> {
+          var text = documents.write(patch);
+          var spec = databaseClient.sql(MERGE_PATCH).bind("userId", userId);
+          // a null patch clears the document, as it does in the JPA store
+          spec =
+              text == null ? spec.bindNull("patch", Json.class) : spec.bind("patch", Json.of(text));
+          return spec.map(
+                  row ->
+                      documents.read(
+                          userId,
+                          row.get("properties", String.class),
+                          row.get("version", Long.class)))
+              .one();
+        });
+  }
+}
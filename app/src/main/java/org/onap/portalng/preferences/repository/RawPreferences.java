@@ -0,0 +1,32 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+/**
+ * A stored document as the JSON text the database renders for the jsonb column. It is handed out
+ * without being parsed, for reads that pass the document through to the response unchanged.
+ *
+ * @param userId the id of the user
+ * @param properties the document as JSON text, null if the user stored none
+ * @param version the version of the stored document
+ */
+public record RawPreferences(String userId, String properties, Long version) {}
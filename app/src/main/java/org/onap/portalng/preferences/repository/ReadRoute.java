@@ -0,0 +1,61 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The database a call of the JPA store is sent to when a read replica is configured. A read carries
+ * its route in the Reactor context under this class; the {@link PersistenceScheduler} hands it to
+ * the worker thread, where the routing DataSource picks it up when the call acquires a connection.
+ * Calls without a route go to the primary.
+ */
+public enum ReadRoute {
+  PRIMARY,
+  REPLICA;
+
+  private static final ThreadLocal<ReadRoute> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Get the route of the call running on this thread
+   *
+   * @return the route, the primary outside of a routed call
+   */
+  public static ReadRoute current() {
+    var route = CURRENT.get();
+    return route == null ? PRIMARY : route;
+  }
+
+  <T> T call(Callable<T> call) throws Exception {
+    var previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return call.call();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consistent hashing of user ids onto shards. Every shard is placed on a ring of 64 bit hashes at a
+ * number of virtual nodes derived from its name, and a user belongs to the first node at or after
+ * the hash of their id. Adding a shard therefore only takes over the users between its nodes and
+ * their predecessors; everyone else keeps their shard. The placement depends on nothing but the
+ * shard names, so every replica computes the same ring.
+ */
+public final class ShardRing {
+
+  private final long[] points;
+
+  private final String[] shards;
+
+  /**
+   * @param shards the names of the shards
+   * @param virtualNodes the number of nodes per shard; more nodes spread the users more evenly
+   */
+  public ShardRing(List<String> shards, int virtualNodes) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("A shard ring needs at least one shard");
+    }
+    record Node(long point, String shard) {}
+    var nodes = new ArrayList<Node>(shards.size() * virtualNodes);
+    for (var shard : shards) {
+      for (var i = 0; i < virtualNodes; i++) {
+        nodes.add(new Node(hash(shard + "#" + i), shard));
+      }
+    }
+    nodes.sort(Comparator.comparingLong(Node::point).thenComparing(Node::shard));
+    this.points = nodes.stream().mapToLong(Node::point).toArray();
+    this.shards = nodes.stream().map(Node::shard).toArray(String[]::new);
+  }
+
+  /**
+   * Get the shard the given user belongs to
+   *
+   * @param userId the id of the user
+   * @return the name of the shard
+   */
+  public String shardOf(String userId) {
+    var index = Arrays.binarySearch(points, hash(userId));
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return shards[index == points.length ? 0 : index];
+  }
+
+  /** FNV-1a over the characters, finished with the SplitMix64 mixer to spread similar ids. */
+  static long hash(String value) {
+    var hash = 0xcbf29ce484222325L;
+    for (var i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+    return hash ^ (hash >>> 31);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The shard a call of the JPA store is sent to when the preferences are sharded. Like the {@link
+ * ReadRoute}, a call carries the name of its shard in the Reactor context under this class, and the
+ * {@link PersistenceScheduler} hands it to the worker thread for the routing DataSource.
+ */
+public final class ShardRoute {
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private ShardRoute() {}
+
+  /**
+   * Get the shard of the call running on this thread
+   *
+   * @return the name of the shard, null outside of a sharded call
+   */
+  public static String current() {
+    return CURRENT.get();
+  }
+
+  static <T> T call(String shard, Callable<T> call) throws Exception {
+    var previous = CURRENT.get();
+    CURRENT.set(shard);
+    try {
+      return call.call();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,365 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Distributes the users over several databases. Every call of a user is sent to the shard the
+ * {@link ShardRing} assigns them to by the {@link ShardRoute} in the subscriber context, and runs
+ * there on the JPA store. Batches are split by shard, and the export merges the ordered streams of
+ * all shards.
+ *
+ * <p>After shards were added, the users the new ring assigns to another shard stay on their
+ * previous one until they are moved. Until then reads that find nothing on the new shard fall back
+ * to the previous one, saves replace the document on the new shard, and a patch moves the user
+ * before it applies.
+ */
+public class ShardedPreferencesStore implements PreferencesStore {
+
+  private static final String FIND_USER_IDS =
+      "SELECT user_id FROM preferences WHERE user_id > ? ORDER BY user_id LIMIT ?";
+
+  private static final String FIND_BY_IDS =
+      """
+      SELECT user_id, CAST(properties AS text) AS properties, version FROM preferences
+      WHERE user_id = ANY(?)
+      """;
+
+  // a user that saved on the new shard in the meantime keeps that document
+  private static final String INSERT_MISSING =
+      """
+      INSERT INTO preferences (user_id, properties, version)
+      SELECT user_id, CAST(properties AS jsonb), version
+      FROM unnest(CAST(? AS text[]), CAST(? AS text[]), CAST(? AS bigint[]))
+          AS moved(user_id, properties, version)
+      ON CONFLICT (user_id) DO NOTHING
+      """;
+
+  // the sequence is only ever raised, so that later versions of the moved users are greater
+  private static final String ADVANCE_VERSIONS =
+      """
+      SELECT setval('preferences_version_seq',
+          greatest(?, (SELECT last_value FROM preferences_version_seq)))
+      """;
+
+  private static final String DELETE_BY_IDS = "DELETE FROM preferences WHERE user_id = ANY(?)";
+
+  private final PreferencesStore store;
+
+  private final PersistenceScheduler persistenceScheduler;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final List<String> shards;
+
+  private final ShardRing ring;
+
+  private final ShardRing previousRing;
+
+  /**
+   * @param store the store that runs the calls on the shard of their route
+   * @param shards the names of the shards
+   * @param previousShards the names of the shards before the last change, empty if the users are
+   *     where the ring expects them
+   * @param virtualNodes the number of points of a shard on the ring
+   */
+  public ShardedPreferencesStore(
+      PreferencesStore store,
+      PersistenceScheduler persistenceScheduler,
+      JdbcTemplate jdbcTemplate,
+      List<String> shards,
+      List<String> previousShards,
+      int virtualNodes) {
+    this.store = store;
+    this.persistenceScheduler = persistenceScheduler;
+    this.jdbcTemplate = jdbcTemplate;
+    this.shards = List.copyOf(shards);
+    this.ring = new ShardRing(shards, virtualNodes);
+    this.previousRing =
+        previousShards.isEmpty() ? null : new ShardRing(previousShards, virtualNodes);
+  }
+
+  /**
+   * Get the shard the given user belongs to
+   *
+   * @param userId the id of the user
+   * @return the name of the shard
+   */
+  public String shardOf(String userId) {
+    return ring.shardOf(userId);
+  }
+
+  public List<String> shards() {
+    return shards;
+  }
+
+  @Override
+  public Mono<PreferencesDto> findById(String userId) {
+    return read(userId, store.findById(userId));
+  }
+
+  @Override
+  public Mono<Long> findVersionById(String userId) {
+    return read(userId, store.findVersionById(userId));
+  }
+
+  @Override
+  public Mono<RawPreferences> findRawById(String userId) {
+    return read(userId, store.findRawById(userId));
+  }
+
+  @Override
+  public Mono<PreferencesDto> findByPointer(String userId, JsonPointer pointer) {
+    return read(userId, store.findByPointer(userId, pointer));
+  }
+
+  /**
+   * Queries every shard that holds some of the users once. Users not found on their shard are
+   * looked up on their previous shard afterwards.
+   */
+  @Override
+  public Flux<PreferencesDto> findAllById(List<String> userIds) {
+    var found =
+        Flux.fromIterable(byShard(userIds, Function.identity()).entrySet())
+            .concatMap(batch -> on(batch.getKey(), store.findAllById(batch.getValue())));
+    if (previousRing == null) {
+      return found;
+    }
+    return found
+        .collectMap(PreferencesDto::getUserId)
+        .flatMapMany(
+            byUserId -> {
+              var unmoved = new LinkedHashMap<String, List<String>>();
+              for (var userId : userIds) {
+                var previous = previousShardOf(userId);
+                if (previous != null && !byUserId.containsKey(userId)) {
+                  unmoved.computeIfAbsent(previous, shard -> new ArrayList<>()).add(userId);
+                }
+              }
+              return Flux.fromIterable(byUserId.values())
+                  .concatWith(
+                      Flux.fromIterable(unmoved.entrySet())
+                          .concatMap(
+                              batch -> on(batch.getKey(), store.findAllById(batch.getValue()))));
+            });
+  }
+
+  /**
+   * Merges the ordered streams of the shards, so all users are still ordered by id. While a user is
+   * moved they may be found on both shards; the document of the shard the ring assigns them to is
+   * exported then, as it may have been saved there in the meantime.
+   */
+  @Override
+  public Flux<PreferencesDto> findAll(int fetchSize) {
+    return shards.stream()
+        .map(
+            shard ->
+                on(shard, store.findAll(fetchSize))
+                    .map(preferencesDto -> new Stored(shard, preferencesDto)))
+        .reduce(
+            (merged, next) ->
+                merged.mergeComparingWith(
+                    next, Comparator.comparing(stored -> stored.preferences().getUserId())))
+        .orElseThrow()
+        .bufferUntilChanged(stored -> stored.preferences().getUserId())
+        .map(this::owned);
+  }
+
+  /** A document and the shard it was read from. */
+  private record Stored(String shard, PreferencesDto preferences) {}
+
+  /** The document on the shard of the user among the copies found, else the first one. */
+  private PreferencesDto owned(List<Stored> copies) {
+    if (copies.size() > 1) {
+      var shard = ring.shardOf(copies.getFirst().preferences().getUserId());
+      for (var copy : copies) {
+        if (copy.shard().equals(shard)) {
+          return copy.preferences();
+        }
+      }
+    }
+    return copies.getFirst().preferences();
+  }
+
+  @Override
+  public Mono<PreferencesDto> save(PreferencesDto preferencesDto) {
+    return on(ring.shardOf(preferencesDto.getUserId()), store.save(preferencesDto));
+  }
+
+  @Override
+  public Mono<Void> saveAll(List<PreferencesDto> preferences) {
+    return Flux.fromIterable(byShard(preferences, PreferencesDto::getUserId).entrySet())
+        .concatMap(batch -> on(batch.getKey(), store.saveAll(batch.getValue())))
+        .then();
+  }
+
+  @Override
+  public Mono<PreferencesDto> mergePatch(String userId, JsonNode patch) {
+    var shard = ring.shardOf(userId);
+    var previous = previousShardOf(userId);
+    var moved = previous == null ? Mono.<Integer>empty() : move(previous, shard, List.of(userId));
+    return moved.then(on(shard, store.mergePatch(userId, patch)));
+  }
+
+  /**
+   * Stream the ids of the users stored on a shard, page by page ordered by id
+   *
+   * @param shard the name of the shard
+   * @param pageSize the number of ids read at a time
+   * @return the pages of user ids
+   */
+  public Flux<List<String>> findUserIds(String shard, int pageSize) {
+    return findUserIds(shard, "", pageSize)
+        .expand(
+            page ->
+                page.size() < pageSize
+                    ? Mono.empty()
+                    : findUserIds(shard, page.getLast(), pageSize));
+  }
+
+  private Mono<List<String>> findUserIds(String shard, String afterUserId, int pageSize) {
+    return on(
+        shard,
+        persistenceScheduler.schedule(
+            () -> jdbcTemplate.queryForList(FIND_USER_IDS, String.class, afterUserId, pageSize)));
+  }
+
+  /**
+   * Move the given users from one shard to another. A user that has saved on the target shard in
+   * the meantime keeps that document; either way the user is removed from the source shard. The
+   * moved documents keep their version, and the version sequence of the target shard is advanced
+   * past it, so the version of a user never goes backwards.
+   *
+   * @param from the shard the users are stored on
+   * @param to the shard the users belong to
+   * @param userIds the ids of the users
+   * @return the number of users found on the source shard
+   */
+  public Mono<Integer> move(String from, String to, List<String> userIds) {
+    var ids = userIds.toArray(String[]::new);
+    return on(
+            from,
+            persistenceScheduler.schedule(
+                () -> {
+                  var found = new Moved(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+                  jdbcTemplate.query(
+                      connection -> {
+                        var statement = connection.prepareStatement(FIND_BY_IDS);
+                        statement.setArray(1, connection.createArrayOf("text", ids));
+                        return statement;
+                      },
+                      resultSet -> {
+                        found.userIds().add(resultSet.getString("user_id"));
+                        found.properties().add(resultSet.getString("properties"));
+                        found.versions().add(resultSet.getLong("version"));
+                      });
+                  return found;
+                }))
+        .flatMap(
+            found ->
+                found.userIds().isEmpty()
+                    ? Mono.just(0)
+                    : on(to, insertMissing(found))
+                        .then(on(from, update(DELETE_BY_IDS, found.userIds())))
+                        .thenReturn(found.userIds().size()));
+  }
+
+  /** The documents read from the source shard of a move. */
+  private record Moved(List<String> userIds, List<String> properties, List<Long> versions) {}
+
+  private Mono<Long> insertMissing(Moved moved) {
+    return persistenceScheduler.schedule(
+        () -> {
+          jdbcTemplate.update(
+              connection -> {
+                var statement = connection.prepareStatement(INSERT_MISSING);
+                statement.setArray(1, connection.createArrayOf("text", moved.userIds().toArray()));
+                statement.setArray(
+                    2, connection.createArrayOf("text", moved.properties().toArray()));
+                statement.setArray(
+                    3, connection.createArrayOf("bigint", moved.versions().toArray()));
+                return statement;
+              });
+          return jdbcTemplate.queryForObject(
+              ADVANCE_VERSIONS, Long.class, Collections.max(moved.versions()));
+        });
+  }
+
+  private Mono<Integer> update(String sql, List<String> userIds) {
+    return persistenceScheduler.schedule(
+        () ->
+            jdbcTemplate.update(
+                connection -> {
+                  var statement = connection.prepareStatement(sql);
+                  statement.setArray(1, connection.createArrayOf("text", userIds.toArray()));
+                  return statement;
+                }));
+  }
+
+  private <T> Map<String, List<T>> byShard(List<T> values, Function<T, String> userId) {
+    var byShard = new LinkedHashMap<String, List<T>>();
+    values.forEach(
+        value ->
+            byShard
+                .computeIfAbsent(ring.shardOf(userId.apply(value)), shard -> new ArrayList<>())
+                .add(value));
+    return byShard;
+  }
+
+  private <T> Mono<T> read(String userId, Mono<T> read) {
+    var shard = ring.shardOf(userId);
+    var previous = previousShardOf(userId);
+    var found = on(shard, read);
+    return previous == null ? found : found.switchIfEmpty(on(previous, read));
+  }
+
+  /** The previous shard of a user if it differs from the current one, null otherwise. */
+  private String previousShardOf(String userId) {
+    if (previousRing == null) {
+      return null;
+    }
+    var previous = previousRing.shardOf(userId);
+    return Objects.equals(previous, ring.shardOf(userId)) ? null : previous;
+  }
+
+  private static <T> Mono<T> on(String shard, Mono<T> call) {
+    return call.contextWrite(context -> context.put(ShardRoute.class, shard));
+  }
+
+  private static <T> Flux<T> on(String shard, Flux<T> call) {
+    return call.contextWrite(context -> context.put(ShardRoute.class, shard));
+  }
+}
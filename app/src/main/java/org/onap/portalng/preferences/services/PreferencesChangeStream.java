@@ -0,0 +1,188 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.onap.portalng.preferences.cache.PreferencesChangedEvent;
+import org.onap.portalng.preferences.exception.ProblemException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.zalando.problem.Status;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Tells the open streams of a user that their preferences changed. Changes of other replicas arrive
+ * as {@link PreferencesChangedEvent}s when cache invalidation is enabled, changes of this replica
+ * are reported right away. A stream only learns that something changed, it reads the preferences
+ * itself; a stream that is still reading keeps only the latest change.
+ */
+@Component
+public class PreferencesChangeStream implements DisposableBean {
+
+  private static final Sinks.EmitFailureHandler RETRY_CONCURRENT_EMITS =
+      Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1));
+
+  /** The streams of one user and how to reach them. */
+  private record Subscribers(Sinks.Many<Instant> changes, int count) {}
+
+  private final StreamProperties properties;
+
+  private final Map<String, Subscribers> subscribers = new ConcurrentHashMap<>();
+
+  private final AtomicInteger connections = new AtomicInteger();
+
+  private final Sinks.Empty<Void> closed = Sinks.empty();
+
+  private final Counter rejected;
+
+  public PreferencesChangeStream(StreamProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.rejected =
+        Counter.builder("preferences.stream.rejected")
+            .description("Streams rejected because of the connection limits")
+            .register(meterRegistry);
+    Gauge.builder("preferences.stream.subscriptions", connections, AtomicInteger::get)
+        .description("Open streams of preference changes")
+        .register(meterRegistry);
+    Gauge.builder("preferences.stream.users", subscribers, Map::size)
+        .description("Users with at least one open stream")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Subscribe to the changes of the preferences of a user
+   *
+   * @param userId the id of the user
+   * @return when the preferences changed, starting with the subscription; completes on shutdown
+   */
+  public Flux<Instant> changes(String userId) {
+    return Flux.defer(
+        () -> {
+          var changes = acquire(userId);
+          if (changes == null) {
+            rejected.increment();
+            return Flux.error(
+                ProblemException.builder()
+                    .status(Status.TOO_MANY_REQUESTS)
+                    .title("Too many streams")
+                    .detail("The preferences are already streamed to too many connections")
+                    .build());
+          }
+          // subscribed before the first read, so no change in between is missed
+          return Flux.merge(changes.asFlux(), Mono.just(Instant.now()))
+              .onBackpressureLatest()
+              .takeUntilOther(closed.asMono())
+              .doFinally(signal -> release(userId));
+        });
+  }
+
+  /**
+   * Ticks at the heartbeat interval until shutdown
+   *
+   * @return the heartbeats
+   */
+  public Flux<Long> heartbeats() {
+    return Flux.interval(properties.heartbeat())
+        .onBackpressureDrop()
+        .takeUntilOther(closed.asMono());
+  }
+
+  /**
+   * Report a change of the preferences of a user on this replica
+   *
+   * @param userId the id of the user
+   */
+  public void changed(String userId) {
+    var current = subscribers.get(userId);
+    if (current != null) {
+      current.changes().emitNext(Instant.now(), RETRY_CONCURRENT_EMITS);
+    }
+  }
+
+  @EventListener
+  void onPreferencesChanged(PreferencesChangedEvent event) {
+    if (event.userId() == null) {
+      subscribers
+          .values()
+          .forEach(
+              current -> current.changes().emitNext(event.changedAt(), RETRY_CONCURRENT_EMITS));
+    } else {
+      var current = subscribers.get(event.userId());
+      if (current != null) {
+        current.changes().emitNext(event.changedAt(), RETRY_CONCURRENT_EMITS);
+      }
+    }
+  }
+
+  /** Count a new stream of the user, the changes to subscribe to or null if over a limit. */
+  private Sinks.Many<Instant> acquire(String userId) {
+    if (connections.incrementAndGet() > properties.maxConnections()) {
+      connections.decrementAndGet();
+      return null;
+    }
+    var acquired = new AtomicReference<Sinks.Many<Instant>>();
+    subscribers.compute(
+        userId,
+        (key, existing) -> {
+          if (existing == null) {
+            var created = new Subscribers(Sinks.many().multicast().<Instant>directBestEffort(), 1);
+            acquired.set(created.changes());
+            return created;
+          }
+          if (existing.count() >= properties.maxConnectionsPerUser()) {
+            return existing;
+          }
+          acquired.set(existing.changes());
+          return new Subscribers(existing.changes(), existing.count() + 1);
+        });
+    if (acquired.get() == null) {
+      connections.decrementAndGet();
+    }
+    return acquired.get();
+  }
+
+  private void release(String userId) {
+    connections.decrementAndGet();
+    subscribers.computeIfPresent(
+        userId,
+        (key, existing) ->
+            existing.count() <= 1
+                ? null
+                : new Subscribers(existing.changes(), existing.count() - 1));
+  }
+
+  @Override
+  public void destroy() {
+    closed.tryEmitEmpty();
+  }
+}
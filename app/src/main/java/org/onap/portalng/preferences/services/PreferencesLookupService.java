@@ -0,0 +1,120 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.exception.ProblemException;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Looks up the preferences of many users at once for other services, e.g. to render a digest for
+ * each of them. The users are read in chunks with one query per chunk instead of one per user.
+ * Buffered and cached documents are served from memory, but documents read here are not cached, so
+ * a sweep over many users does not evict the entries of active ones.
+ */
+@Service
+@RequiredArgsConstructor
+public class PreferencesLookupService {
+
+  private final PreferencesStore store;
+
+  private final PreferencesCache cache;
+
+  private final WriteBehindBuffer writeBehind;
+
+  private final ReadRouting readRouting;
+
+  private final PreferencesMetrics metrics;
+
+  private final LookupProperties properties;
+
+  /**
+   * Get the preferences of the given users
+   *
+   * @param userIds the ids of the users, duplicates are answered once
+   * @return the preferences of the users in the order they were asked for. Users without stored
+   *     preferences get the default preferences
+   * @throws ProblemException if more users are asked for than allowed, before anything is read
+   */
+  public Flux<UserPreferencesApiDto> getPreferences(List<String> userIds) {
+    if (userIds.size() > properties.maxUserIds()) {
+      throw ProblemException.builder()
+          .title("Too many users")
+          .detail("At most " + properties.maxUserIds() + " users can be looked up at once")
+          .build();
+    }
+    return Flux.fromIterable(new LinkedHashSet<>(userIds))
+        .buffer(properties.chunkSize())
+        .concatMap(chunk -> metrics.timed(PreferencesMetrics.Operation.LOOKUP, lookup(chunk)))
+        .flatMapIterable(Function.identity());
+  }
+
+  private Mono<List<UserPreferencesApiDto>> lookup(List<String> userIds) {
+    return Mono.defer(
+        () -> {
+          var found = new HashMap<String, PreferencesDto>();
+          var missing = new ArrayList<String>();
+          for (var userId : userIds) {
+            writeBehind
+                .get(userId)
+                .or(() -> cache.getIfPresent(userId))
+                .ifPresentOrElse(
+                    document -> found.put(userId, document), () -> missing.add(userId));
+          }
+          var stored =
+              missing.isEmpty()
+                  ? Flux.<PreferencesDto>empty()
+                  : readRouting.route(missing, store.findAllById(missing));
+          return stored
+              .doOnNext(document -> found.put(document.getUserId(), document))
+              .then(
+                  Mono.fromSupplier(
+                      () ->
+                          userIds.stream()
+                              .map(userId -> toUserPreferences(userId, found))
+                              .toList()));
+        });
+  }
+
+  private UserPreferencesApiDto toUserPreferences(
+      String userId, Map<String, PreferencesDto> found) {
+    var document = found.get(userId);
+    if (document == null) {
+      metrics.defaultPreferences();
+    }
+    return new UserPreferencesApiDto()
+        .userId(userId)
+        .properties(document == null ? null : document.getProperties());
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times the operations of the {@link PreferencesService} by outcome, with percentile histograms so
+ * that latencies can be aggregated across replicas, and counts the reads answered with default
+ * preferences.
+ */
+@Component
+public class PreferencesMetrics {
+
+  enum Operation {
+    GET,
+    GET_POINTER,
+    SAVE,
+    PATCH,
+    LOOKUP
+  }
+
+  enum Outcome {
+    SUCCESS,
+    ERROR,
+    CANCELLED
+  }
+
+  private final Map<Operation, Map<Outcome, Timer>> timers = new EnumMap<>(Operation.class);
+
+  private final Counter defaults;
+
+  public PreferencesMetrics(MeterRegistry meterRegistry) {
+    for (var operation : Operation.values()) {
+      var byOutcome = new EnumMap<Outcome, Timer>(Outcome.class);
+      for (var outcome : Outcome.values()) {
+        byOutcome.put(
+            outcome,
+            Timer.builder("preferences.service")
+                .description("Time to answer a preferences operation, including the store")
+                .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+      }
+      timers.put(operation, byOutcome);
+    }
+    this.defaults =
+        Counter.builder("preferences.defaults")
+            .description("Reads answered with default preferences because the user has none stored")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Time the given operation from subscription until it completes, fails or is cancelled
+   *
+   * @param operation the operation
+   * @param mono the operation
+   * @return the timed operation
+   */
+  <T> Mono<T> timed(Operation operation, Mono<T> mono) {
+    var byOutcome = timers.get(operation);
+    return Mono.defer(
+        () -> {
+          var start = System.nanoTime();
+          return mono.doOnSuccess(value -> record(byOutcome.get(Outcome.SUCCESS), start))
+              .doOnError(ex -> record(byOutcome.get(Outcome.ERROR), start))
+              .doOnCancel(() -> record(byOutcome.get(Outcome.CANCELLED), start));
+        });
+  }
+
+  void defaultPreferences() {
+    defaults.increment();
+  }
+
+  private static void record(Timer timer, long start) {
+    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+}
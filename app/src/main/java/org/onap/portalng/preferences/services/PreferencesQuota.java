@@ -0,0 +1,163 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.onap.portalng.preferences.configuration.LimitsProperties;
+import org.onap.portalng.preferences.exception.PayloadLimits;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional quota of the stored preferences per user. The size of the document that a save or patch
+ * results in is measured as JSON text before anything is written, so the check costs one
+ * serialization into a counter and, for patches, a merge in memory. It is a soft limit: patches of
+ * the same user that run concurrently are each checked against the document they started from.
+ */
+@Component
+public class PreferencesQuota {
+
+  private final LimitsProperties.Quota quota;
+
+  private final ObjectMapper objectMapper;
+
+  private final Counter savesRejected;
+
+  private final Counter patchesRejected;
+
+  private final DistributionSummary usage;
+
+  public PreferencesQuota(
+      LimitsProperties limitsProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.quota = limitsProperties.quota();
+    this.objectMapper = objectMapper;
+    this.savesRejected = rejected(meterRegistry, "save");
+    this.patchesRejected = rejected(meterRegistry, "patch");
+    this.usage =
+        DistributionSummary.builder("preferences.quota.usage")
+            .description("Size of the documents that are saved or patched, relative to the quota")
+            .baseUnit("percent")
+            .publishPercentileHistogram()
+            .maximumExpectedValue(100.0)
+            .register(meterRegistry);
+  }
+
+  boolean enabled() {
+    return quota.enabled();
+  }
+
+  /**
+   * Check the document of a save against the quota
+   *
+   * @param properties the document that replaces the stored one
+   * @throws org.onap.portalng.preferences.exception.ProblemException with status 413 if the
+   *     document exceeds the quota
+   */
+  void checkSave(JsonNode properties) {
+    check(properties, savesRejected);
+  }
+
+  /**
+   * Check the document that results from applying a JSON Merge Patch against the quota
+   *
+   * @param current the stored document, null if there is none
+   * @param patch the merge patch
+   * @throws org.onap.portalng.preferences.exception.ProblemException with status 413 if the patched
+   *     document exceeds the quota
+   */
+  void checkPatch(JsonNode current, JsonNode patch) {
+    check(mergePatch(current, patch), patchesRejected);
+  }
+
+  private void check(JsonNode properties, Counter rejected) {
+    var size = sizeOf(properties);
+    var maxStoredSize = quota.maxStoredSize().toBytes();
+    usage.record(100.0 * size / maxStoredSize);
+    if (size > maxStoredSize) {
+      rejected.increment();
+      throw PayloadLimits.quotaExceeded(size, quota.maxStoredSize());
+    }
+  }
+
+  private long sizeOf(JsonNode properties) {
+    var counter = new CountingOutputStream();
+    try {
+      objectMapper.writeValue(counter, properties);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return counter.count;
+  }
+
+  /**
+   * Apply a merge patch as specified by RFC 7386, the way the <code>jsonb_merge_patch</code>
+   * function of the database does. Objects of the target are copied shallowly, the given nodes are
+   * not modified.
+   */
+  static JsonNode mergePatch(JsonNode target, JsonNode patch) {
+    if (patch == null || !patch.isObject()) {
+      return patch;
+    }
+    var result = JsonNodeFactory.instance.objectNode();
+    if (target != null && target.isObject()) {
+      result.setAll((ObjectNode) target);
+    }
+    for (var member : patch.properties()) {
+      if (member.getValue().isNull()) {
+        result.remove(member.getKey());
+      } else {
+        result.set(member.getKey(), mergePatch(result.get(member.getKey()), member.getValue()));
+      }
+    }
+    return result;
+  }
+
+  private static Counter rejected(MeterRegistry meterRegistry, String operation) {
+    return Counter.builder("preferences.quota.rejected")
+        .description("Saves and patches rejected because the document would exceed the quota")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+}
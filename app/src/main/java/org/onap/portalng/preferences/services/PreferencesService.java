@@ -21,52 +21,269 @@
 
 package org.onap.portalng.preferences.services;
 
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.RequiredArgsConstructor;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.configuration.StorageProperties;
 import org.onap.portalng.preferences.entities.PreferencesDto;
 import org.onap.portalng.preferences.exception.ProblemException;
 import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
-import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.onap.portalng.preferences.repository.RawPreferences;
 import org.onap.portalng.preferences.util.Logger;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 @RequiredArgsConstructor
 @Service
 public class PreferencesService {
 
-  private final PreferencesRepository repository;
+  private final PreferencesStore store;
 
   private final ObjectMapper objectMapper;
 
-  public Mono<PreferencesApiDto> getPreferences(String userId) {
-    return Mono.fromCallable(() -> repository.findById(userId).orElse(defaultPreferences()))
-        .subscribeOn(Schedulers.boundedElastic())
-        .map(this::toPreferences);
+  private final PreferencesCache cache;
+
+  private final WriteBehindBuffer writeBehind;
+
+  private final PreferencesMetrics metrics;
+
+  private final PreferencesQuota quota;
+
+  private final StorageProperties storageProperties;
+
+  private final ReadRouting readRouting;
+
+  private final PreferencesChangeStream changeStream;
+
+  public Mono<VersionedPreferences> getPreferences(String userId) {
+    return metrics.timed(
+        PreferencesMetrics.Operation.GET,
+        Mono.defer(
+                () ->
+                    writeBehind
+                        .get(userId)
+                        .map(Mono::just)
+                        .orElseGet(() -> cache.get(userId, this::loadPreferences)))
+            .map(this::toPreferences));
   }
 
-  public Mono<PreferencesApiDto> savePreferences(String userId, PreferencesApiDto preferences) {
+  /**
+   * Get the preferences of a user for a response that is rendered as JSON. With raw reads enabled a
+   * stored document is not parsed: its JSON text is written to the response as the database
+   * returned it. Buffered and cached documents are still served from memory, but documents read
+   * this way are not cached.
+   *
+   * @param userId the id of the user
+   * @return the preferences, whose properties may be a {@link RawValue}
+   */
+  public Mono<VersionedPreferences> getJsonPreferences(String userId) {
+    if (!storageProperties.rawReads()) {
+      return getPreferences(userId);
+    }
+    return metrics.timed(
+        PreferencesMetrics.Operation.GET,
+        Mono.defer(
+            () ->
+                writeBehind
+                    .get(userId)
+                    .or(() -> cache.getIfPresent(userId))
+                    .map(document -> Mono.just(toPreferences(document)))
+                    .orElseGet(
+                        () ->
+                            readRouting
+                                .route(userId, store.findRawById(userId))
+                                .map(this::toPreferences)
+                                .switchIfEmpty(
+                                    Mono.fromSupplier(
+                                        () -> {
+                                          metrics.defaultPreferences();
+                                          return toPreferences(defaultPreferences());
+                                        })))));
+  }
 
-    var preferencesDto = new PreferencesDto();
-    preferencesDto.setUserId(userId);
-    preferencesDto.setProperties(objectMapper.valueToTree(preferences.getProperties()));
-
-    return Mono.fromCallable(() -> repository.save(preferencesDto))
-        .subscribeOn(Schedulers.boundedElastic())
-        .map(this::toPreferences)
-        .onErrorResume(
-            ProblemException.class,
-            ex -> {
-              Logger.errorLog("user prefrences", userId, "preferences");
-              return Mono.error(ex);
-            });
+  /**
+   * Get the part of the preferences of a user a JSON Pointer refers to. Buffered and cached
+   * documents are navigated in memory, otherwise only that part is read from the database.
+   *
+   * @param userId the id of the user
+   * @param pointer the JSON Pointer into the properties, the leading slash may be omitted
+   * @return preferences whose properties are the value at the pointer, null if there is none
+   */
+  public Mono<PreferencesApiDto> getPreferences(String userId, String pointer) {
+    var jsonPointer = JsonPointer.compile(pointer.startsWith("/") ? pointer : "/" + pointer);
+    return metrics.timed(
+        PreferencesMetrics.Operation.GET_POINTER,
+        Mono.defer(
+                () ->
+                    writeBehind
+                        .get(userId)
+                        .or(() -> cache.getIfPresent(userId))
+                        .map(
+                            document -> Mono.justOrEmpty(at(document.getProperties(), jsonPointer)))
+                        .orElseGet(
+                            () ->
+                                readRouting
+                                    .route(userId, store.findByPointer(userId, jsonPointer))
+                                    .mapNotNull(PreferencesDto::getProperties)))
+            .map(properties -> new PreferencesApiDto().properties(properties))
+            .defaultIfEmpty(new PreferencesApiDto().properties(null)));
   }
 
-  private PreferencesApiDto toPreferences(PreferencesDto preferencesDto) {
+  /**
+   * Stream the preferences of a user: the current ones first, then the changed ones whenever they
+   * change on any replica. A subscriber that cannot keep up skips to the latest preferences.
+   *
+   * @param userId the id of the user
+   * @return the preferences, completes on shutdown
+   */
+  public Flux<VersionedPreferences> streamPreferences(String userId) {
+    return changeStream
+        .changes(userId)
+        .concatMap(change -> getPreferences(userId), 1)
+        // the change of a save on this replica may be reported by the database as well
+        .distinctUntilChanged();
+  }
+
+  /**
+   * Get the version of the stored preferences of a user without loading the document, from the
+   * cache if possible.
+   *
+   * @param userId the id of the user
+   * @return the version or an empty Mono if the user has no stored preferences or a save is still
+   *     buffered
+   */
+  public Mono<Long> getPreferencesVersion(String userId) {
+    if (writeBehind.get(userId).isPresent()) {
+      return Mono.empty();
+    }
+    return cache
+        .getIfPresent(userId)
+        .map(cached -> Mono.justOrEmpty(cached.getVersion()))
+        .orElseGet(() -> readRouting.route(userId, store.findVersionById(userId)));
+  }
+
+  public Mono<VersionedPreferences> savePreferences(String userId, PreferencesApiDto preferences) {
+    return metrics.timed(
+        PreferencesMetrics.Operation.SAVE,
+        Mono.defer(
+            () -> {
+              var preferencesDto = new PreferencesDto();
+              preferencesDto.setUserId(userId);
+              preferencesDto.setProperties(objectMapper.valueToTree(preferences.getProperties()));
+              if (quota.enabled()) {
+                quota.checkSave(preferencesDto.getProperties());
+              }
+
+              if (writeBehind.offer(preferencesDto)) {
+                changeStream.changed(userId);
+                return Mono.just(toPreferences(preferencesDto));
+              }
+
+              // a save buffered before the buffer fell behind must not be flushed over this one
+              return writeBehind
+                  .flush(userId)
+                  .then(Mono.defer(() -> store.save(preferencesDto)))
+                  .doOnNext(
+                      saved -> {
+                        readRouting.wrote(userId);
+                        cache.put(userId, saved);
+                        changeStream.changed(userId);
+                      })
+                  .map(this::toPreferences)
+                  .onErrorResume(
+                      ProblemException.class,
+                      ex -> {
+                        Logger.errorLog("user prefrences", userId, "preferences");
+                        return Mono.error(ex);
+                      });
+            }));
+  }
+
+  /**
+   * Apply the properties of the given preferences as a JSON Merge Patch to the stored preferences
+   * of the user.
+   *
+   * @param userId the id of the user
+   * @param patch the preferences whose properties are the merge patch
+   * @return the patched preferences
+   */
+  public Mono<VersionedPreferences> patchPreferences(String userId, PreferencesApiDto patch) {
+    return metrics.timed(
+        PreferencesMetrics.Operation.PATCH,
+        writeBehind
+            .flush(userId)
+            .then(
+                Mono.defer(
+                    () -> {
+                      JsonNode properties = objectMapper.valueToTree(patch.getProperties());
+                      return checkPatchQuota(userId, properties)
+                          .then(Mono.defer(() -> store.mergePatch(userId, properties)));
+                    }))
+            .doOnNext(
+                patched -> {
+                  readRouting.wrote(userId);
+                  cache.put(userId, patched);
+                  changeStream.changed(userId);
+                })
+            .map(this::toPreferences)
+            .onErrorResume(
+                ProblemException.class,
+                ex -> {
+                  Logger.errorLog("user prefrences", userId, "preferences");
+                  return Mono.error(ex);
+                }));
+  }
+
+  /**
+   * Check the document a patch results in against the quota. The stored document is taken from the
+   * cache if possible; buffered saves have been flushed before.
+   */
+  private Mono<Void> checkPatchQuota(String userId, JsonNode patch) {
+    if (!quota.enabled()) {
+      return Mono.empty();
+    }
+    return cache
+        .getIfPresent(userId)
+        .map(Mono::just)
+        .orElseGet(() -> store.findById(userId))
+        .mapNotNull(PreferencesDto::getProperties)
+        .defaultIfEmpty(NullNode.getInstance())
+        .doOnNext(current -> quota.checkPatch(current, patch))
+        .then();
+  }
+
+  private static JsonNode at(JsonNode properties, JsonPointer pointer) {
+    var value = properties == null ? null : properties.at(pointer);
+    return value == null || value.isMissingNode() ? null : value;
+  }
+
+  private Mono<PreferencesDto> loadPreferences(String userId) {
+    return readRouting
+        .route(userId, store.findById(userId))
+        .switchIfEmpty(
+            Mono.fromSupplier(
+                () -> {
+                  metrics.defaultPreferences();
+                  return defaultPreferences();
+                }));
+  }
+
+  private VersionedPreferences toPreferences(PreferencesDto preferencesDto) {
     var preferences = new PreferencesApiDto();
     preferences.setProperties(preferencesDto.getProperties());
-    return preferences;
+    return new VersionedPreferences(preferences, preferencesDto.getVersion());
+  }
+
+  private VersionedPreferences toPreferences(RawPreferences raw) {
+    var preferences = new PreferencesApiDto();
+    preferences.setProperties(raw.properties() == null ? null : new RawValue(raw.properties()));
+    return new VersionedPreferences(preferences, raw.version());
   }
 
   /**
@@ -0,0 +1,113 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bulk export and import of the preferences of all users, e.g. for backups or migrations between
+ * environments. Both directions stream: memory use is bound by the fetch and batch sizes, not by
+ * the number of users.
+ */
+@Service
+@RequiredArgsConstructor
+public class PreferencesTransferService {
+
+  private final PreferencesStore store;
+
+  private final ObjectMapper objectMapper;
+
+  private final PreferencesCache cache;
+
+  private final WriteBehindBuffer writeBehind;
+
+  private final ReadRouting readRouting;
+
+  private final PreferencesChangeStream changeStream;
+
+  private final TransferProperties properties;
+
+  /**
+   * Stream the stored preferences of all users, including saves still held by the write-behind
+   * buffer
+   *
+   * @return the preferences of all users ordered by user id
+   */
+  public Flux<UserPreferencesApiDto> exportPreferences() {
+    return writeBehind
+        .flush()
+        .thenMany(store.findAll(properties.fetchSize()))
+        .map(
+            preferencesDto ->
+                new UserPreferencesApiDto()
+                    .userId(preferencesDto.getUserId())
+                    .properties(preferencesDto.getProperties()));
+  }
+
+  /**
+   * Insert or replace the preferences of the given users batch by batch while they are read
+   *
+   * @param preferences the preferences to import
+   * @return the number of imported users
+   */
+  public Mono<Long> importPreferences(Flux<UserPreferencesApiDto> preferences) {
+    return writeBehind
+        .flush()
+        .thenMany(preferences)
+        .map(this::toPreferencesDto)
+        .buffer(properties.batchSize())
+        .concatMap(this::importBatch)
+        .reduce(0L, Long::sum);
+  }
+
+  private Mono<Long> importBatch(List<PreferencesDto> batch) {
+    return store
+        .saveAll(batch)
+        .then(
+            Mono.fromSupplier(
+                () -> {
+                  batch.forEach(
+                      preferencesDto -> {
+                        readRouting.wrote(preferencesDto.getUserId());
+                        cache.invalidate(preferencesDto.getUserId());
+                        changeStream.changed(preferencesDto.getUserId());
+                      });
+                  return (long) batch.size();
+                }));
+  }
+
+  private PreferencesDto toPreferencesDto(UserPreferencesApiDto userPreferences) {
+    var preferencesDto = new PreferencesDto();
+    preferencesDto.setUserId(userPreferences.getUserId());
+    preferencesDto.setProperties(objectMapper.valueToTree(userPreferences.getProperties()));
+    return preferencesDto;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import org.onap.portalng.preferences.cache.PreferencesChangedEvent;
+import org.onap.portalng.preferences.configuration.StorageProperties;
+import org.onap.portalng.preferences.repository.ReadRoute;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides which database the reads of a user go to when a read replica is configured. Reads go to
+ * the replica, except for users that wrote within the read-your-writes window: their reads stay on
+ * the primary, so that nobody reads a document older than the one they just saved while the replica
+ * is catching up. Users changed on other replicas, as reported by cache invalidation, are treated
+ * the same, so that the changed document is not read back from the replica and cached.
+ *
+ * <p>Only the JPA store is routed; without a replica every read goes to the primary as before.
+ */
+@Component
+public class ReadRouting {
+
+  private final Cache<String, Boolean> recentWrites;
+
+  private final Duration readYourWrites;
+
+  /** Until when, in {@link System#nanoTime()}, the reads of all users stay on the primary. */
+  private volatile long allOnPrimaryUntil;
+
+  private final Counter primaryReads;
+
+  private final Counter replicaReads;
+
+  public ReadRouting(StorageProperties storageProperties, MeterRegistry meterRegistry) {
+    var replica = storageProperties.replica();
+    if (!replica.enabled() || storageProperties.type() != StorageProperties.Type.JPA) {
+      this.recentWrites = null;
+      this.readYourWrites = null;
+      this.primaryReads = null;
+      this.replicaReads = null;
+      return;
+    }
+    this.readYourWrites = replica.readYourWrites();
+    this.allOnPrimaryUntil = System.nanoTime();
+    this.recentWrites =
+        Caffeine.newBuilder()
+            .expireAfterWrite(replica.readYourWrites())
+            .maximumSize(replica.maxTrackedUsers())
+            .build();
+    this.primaryReads = reads(ReadRoute.PRIMARY, meterRegistry);
+    this.replicaReads = reads(ReadRoute.REPLICA, meterRegistry);
+    Gauge.builder("preferences.read.recent_writers", recentWrites, Cache::estimatedSize)
+        .description("Users whose reads stay on the primary because they wrote recently")
+        .register(meterRegistry);
+  }
+
+  private static Counter reads(ReadRoute route, MeterRegistry meterRegistry) {
+    return Counter.builder("preferences.read.route")
+        .description("Routed reads by the database they were sent to")
+        .tag("route", route.name().toLowerCase())
+        .register(meterRegistry);
+  }
+
+  /**
+   * Send a read of the store to the database the reads of the given user currently go to. The route
+   * is decided on subscription.
+   *
+   * @param userId the id of the user
+   * @param read the read of the store
+   * @return the routed read
+   */
+  public <T> Mono<T> route(String userId, Mono<T> read) {
+    if (recentWrites == null) {
+      return read;
+    }
+    return Mono.defer(
+        () -> {
+          var route = wroteRecently(userId) ? ReadRoute.PRIMARY : ReadRoute.REPLICA;
+          (route == ReadRoute.REPLICA ? replicaReads : primaryReads).increment();
+          return read.contextWrite(context -> context.put(ReadRoute.class, route));
+        });
+  }
+
+  /**
+   * Send a read of the store for several users to the replica, unless one of them wrote recently
+   *
+   * @param userIds the ids of the users
+   * @param read the read of the store
+   * @return the routed read
+   */
+  public <T> Flux<T> route(Collection<String> userIds, Flux<T> read) {
+    if (recentWrites == null) {
+      return read;
+    }
+    return Flux.defer(
+        () -> {
+          var route =
+              userIds.stream().anyMatch(this::wroteRecently)
+                  ? ReadRoute.PRIMARY
+                  : ReadRoute.REPLICA;
+          (route == ReadRoute.REPLICA ? replicaReads : primaryReads).increment();
+          return read.contextWrite(context -> context.put(ReadRoute.class, route));
+        });
+  }
+
+  /**
+   * Keep the reads of a user on the primary for the read-your-writes window after a write
+   *
+   * @param userId the id of the user that wrote
+   */
+  public void wrote(String userId) {
+    if (recentWrites != null) {
+      recentWrites.put(userId, Boolean.TRUE);
+    }
+  }
+
+  // before the cache is evicted, so that no read in between goes to the replica
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @EventListener
+  void onPreferencesChanged(PreferencesChangedEvent event) {
+    if (recentWrites == null) {
+      return;
+    }
+    if (event.userId() == null) {
+      allOnPrimaryUntil = System.nanoTime() + readYourWrites.toNanos();
+    } else {
+      wrote(event.userId());
+    }
+  }
+
+  private boolean wroteRecently(String userId) {
+    return recentWrites.getIfPresent(userId) != null || System.nanoTime() - allOnPrimaryUntil < 0;
+  }
+}
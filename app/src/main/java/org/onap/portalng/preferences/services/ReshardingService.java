@@ -0,0 +1,137 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.exception.ProblemException;
+import org.onap.portalng.preferences.repository.ShardedPreferencesStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.zalando.problem.Status;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Moves the users whose shard changed with the configured shards. Every shard is scanned by user
+ * id, and only the users the ring assigns to another shard are read and written, so adding a shard
+ * to N moves about 1/(N+1) of the users.
+ *
+ * <p>Moved users keep their version. Run it once every replica uses the new shards, and remove the
+ * previous shards from the configuration afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReshardingService {
+
+  private final ObjectProvider<ShardedPreferencesStore> shardedStore;
+
+  private final PreferencesCache cache;
+
+  private final WriteBehindBuffer writeBehind;
+
+  private final ReadRouting readRouting;
+
+  private final PreferencesChangeStream changeStream;
+
+  private final TransferProperties properties;
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Move all users that are not stored on their shard
+   *
+   * @return the number of moved users
+   */
+  public Mono<Long> reshard() {
+    var store = shardedStore.getIfAvailable();
+    if (store == null) {
+      return Mono.error(
+          ProblemException.builder()
+              .status(Status.CONFLICT)
+              .title("Sharding is not enabled")
+              .detail("Set preferences.storage.sharding.enabled to reshard")
+              .build());
+    }
+    return writeBehind
+        .flush()
+        .thenMany(Flux.fromIterable(store.shards()))
+        .concatMap(shard -> reshard(store, shard))
+        .reduce(0L, Long::sum);
+  }
+
+  private Mono<Long> reshard(ShardedPreferencesStore store, String shard) {
+    return store
+        .findUserIds(shard, properties.fetchSize())
+        .concatMap(page -> Flux.fromIterable(misplaced(store, shard, page).entrySet()))
+        .concatMap(
+            target ->
+                Flux.fromIterable(target.getValue())
+                    .buffer(properties.batchSize())
+                    .concatMap(batch -> move(store, shard, target.getKey(), batch)))
+        .reduce(0L, Long::sum)
+        .doOnNext(moved -> log.info("Moved {} users away from shard {}", moved, shard));
+  }
+
+  private Mono<Long> move(
+      ShardedPreferencesStore store, String from, String to, List<String> userIds) {
+    return store
+        .move(from, to, userIds)
+        .map(
+            moved -> {
+              userIds.forEach(
+                  userId -> {
+                    readRouting.wrote(userId);
+                    cache.invalidate(userId);
+                    changeStream.changed(userId);
+                  });
+              Counter.builder("preferences.resharding.moved")
+                  .description("Users moved to another shard")
+                  .tag("from", from)
+                  .tag("to", to)
+                  .register(meterRegistry)
+                  .increment(moved);
+              return (long) moved;
+            });
+  }
+
+  /** The ids of a page that belong to another shard, by that shard */
+  private static Map<String, List<String>> misplaced(
+      ShardedPreferencesStore store, String shard, List<String> userIds) {
+    var misplaced = new LinkedHashMap<String, List<String>>();
+    for (var userId : userIds) {
+      var owner = store.shardOf(userId);
+      if (!owner.equals(shard)) {
+        misplaced.computeIfAbsent(owner, key -> new ArrayList<>()).add(userId);
+      }
+    }
+    return misplaced;
+  }
+}
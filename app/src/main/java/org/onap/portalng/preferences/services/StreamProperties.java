@@ -0,0 +1,40 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the stream of preference changes.
+ *
+ * @param heartbeat how often a comment is sent while nothing changes, so that proxies do not close
+ *     idle connections and clients notice lost ones
+ * @param maxConnections the most streams this replica serves at once
+ * @param maxConnectionsPerUser the most streams one user may hold at once, e.g. one per tab
+ */
+@ConfigurationProperties("preferences.stream")
+public record StreamProperties(
+    @DefaultValue("15s") Duration heartbeat,
+    @DefaultValue("10000") int maxConnections,
+    @DefaultValue("10") int maxConnectionsPerUser) {}
@@ -0,0 +1,32 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+
+/**
+ * The preferences of a user together with the version of the stored document.
+ *
+ * @param preferences the preferences
+ * @param version the version of the stored document, null if the user has no stored preferences
+ */
+public record VersionedPreferences(PreferencesApiDto preferences, Long version) {}
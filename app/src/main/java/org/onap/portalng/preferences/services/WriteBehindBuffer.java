@@ -0,0 +1,231 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Optional write-behind buffer for chatty preference updates. Saves are acknowledged from memory
+ * and persisted once per window as batched upserts, so a user dragging a panel around produces one
+ * database write per window instead of one per request. Until a save is persisted it is served back
+ * to the same user from the buffer.
+ *
+ * <p>Buffered saves are only acknowledged while the buffer keeps up: once the oldest entry exceeds
+ * the maximum staleness, or the buffer is full, saves fall back to writing through. The remaining
+ * entries are flushed on shutdown.
+ */
+@Slf4j
+@Component
+public class WriteBehindBuffer implements DisposableBean {
+
+  private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(30);
+
+  private record Pending(PreferencesDto preferences, long bufferedAt) {}
+
+  private final WriteBehindProperties properties;
+
+  private final PreferencesStore store;
+
+  private final PreferencesCache cache;
+
+  private final ReadRouting readRouting;
+
+  private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+  private final Counter accepted;
+
+  private final Counter written;
+
+  private final Counter failures;
+
+  private final Disposable flushing;
+
+  private volatile boolean keepingUp = true;
+
+  public WriteBehindBuffer(
+      WriteBehindProperties properties,
+      PreferencesStore store,
+      PreferencesCache cache,
+      ReadRouting readRouting,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.store = store;
+    this.cache = cache;
+    this.readRouting = readRouting;
+    this.accepted =
+        Counter.builder("preferences.write_behind.accepted")
+            .description("Saves acknowledged from the write-behind buffer")
+            .register(meterRegistry);
+    this.written =
+        Counter.builder("preferences.write_behind.written")
+            .description("Rows written by write-behind flushes")
+            .register(meterRegistry);
+    this.failures =
+        Counter.builder("preferences.write_behind.failures")
+            .description("Failed write-behind batches")
+            .register(meterRegistry);
+    Gauge.builder("preferences.write_behind.buffered", pending, Map::size)
+        .description("Users with a buffered save that is not yet persisted")
+        .register(meterRegistry);
+    Gauge.builder("preferences.write_behind.coalescing.ratio", this, WriteBehindBuffer::ratio)
+        .description("Buffered saves per written row")
+        .register(meterRegistry);
+
+    this.flushing =
+        properties.enabled()
+            ? Flux.interval(properties.window())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush().onErrorComplete(), 1)
+                .subscribe()
+            : null;
+  }
+
+  /**
+   * Buffer the given preferences if write-behind is enabled and keeping up
+   *
+   * @param preferencesDto the preferences to save
+   * @return true if the save was buffered, false if it has to be written through
+   */
+  public boolean offer(PreferencesDto preferencesDto) {
+    var userId = preferencesDto.getUserId();
+    if (!properties.enabled()
+        || !keepingUp
+        || (pending.size() >= properties.maxBufferedUsers() && !pending.containsKey(userId))) {
+      return false;
+    }
+    pending.merge(
+        userId,
+        new Pending(preferencesDto, System.nanoTime()),
+        (older, newer) -> new Pending(preferencesDto, older.bufferedAt()));
+    cache.invalidate(userId);
+    accepted.increment();
+    return true;
+  }
+
+  /**
+   * Get the buffered, not yet persisted preferences of a user
+   *
+   * @param userId the id of the user
+   * @return the buffered preferences, if any
+   */
+  public Optional<PreferencesDto> get(String userId) {
+    return Optional.ofNullable(pending.get(userId)).map(Pending::preferences);
+  }
+
+  /**
+   * Persist the buffered preferences of one user right away, e.g. before a statement that reads the
+   * stored document
+   *
+   * @param userId the id of the user
+   * @return a Mono that completes once nothing is buffered for the user anymore
+   */
+  public Mono<Void> flush(String userId) {
+    return Mono.defer(
+        () -> {
+          var entry = pending.get(userId);
+          return entry == null ? Mono.empty() : write(List.of(Map.entry(userId, entry)));
+        });
+  }
+
+  /**
+   * Persist everything that is currently buffered
+   *
+   * @return a Mono that completes when the current content of the buffer is persisted
+   */
+  public Mono<Void> flush() {
+    return Mono.defer(
+        () -> {
+          // a stable lock order keeps batches from concurrent replicas from deadlocking
+          var entries =
+              pending.entrySet().stream()
+                  .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                  .sorted(Map.Entry.comparingByKey())
+                  .toList();
+          return Flux.fromIterable(entries)
+              .buffer(properties.batchSize())
+              .concatMap(this::write)
+              .then()
+              .doFinally(
+                  signal -> keepingUp = oldestAge().compareTo(properties.maxStaleness()) <= 0);
+        });
+  }
+
+  private Mono<Void> write(List<Map.Entry<String, Pending>> batch) {
+    return store
+        .saveAll(batch.stream().map(entry -> entry.getValue().preferences()).toList())
+        .doOnSuccess(
+            done -> {
+              written.increment(batch.size());
+              // only remove what was written; a newer save of the same user stays buffered
+              batch.forEach(
+                  entry -> {
+                    readRouting.wrote(entry.getKey());
+                    pending.remove(entry.getKey(), entry.getValue());
+                    cache.invalidate(entry.getKey());
+                  });
+            })
+        .doOnError(
+            ex -> {
+              failures.increment();
+              log.warn("Write-behind flush of {} users failed: {}", batch.size(), ex.getMessage());
+            });
+  }
+
+  private Duration oldestAge() {
+    var now = System.nanoTime();
+    return pending.values().stream()
+        .map(entry -> Duration.ofNanos(now - entry.bufferedAt()))
+        .max(Duration::compareTo)
+        .orElse(Duration.ZERO);
+  }
+
+  private double ratio() {
+    return written.count() == 0 ? 0 : accepted.count() / written.count();
+  }
+
+  @Override
+  public void destroy() {
+    if (flushing != null) {
+      flushing.dispose();
+      flush()
+          .doOnError(ex -> log.error("Write-behind flush on shutdown failed", ex))
+          .onErrorComplete()
+          .block(SHUTDOWN_FLUSH_TIMEOUT);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.services;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the optional write-behind buffer for saved preferences.
+ *
+ * @param enabled whether saves are acknowledged from the buffer and persisted asynchronously
+ * @param window how often the buffer is flushed; all saves of a user within one window are
+ *     coalesced into a single write (last write wins)
+ * @param maxStaleness the longest a buffered save may remain unpersisted. Once the oldest entry is
+ *     older (e.g. because the database is unavailable) saves bypass the buffer until it has caught
+ *     up again
+ * @param maxBufferedUsers saves bypass the buffer while it holds this many users
+ * @param batchSize the maximum number of users written with one batch statement
+ */
+@ConfigurationProperties("preferences.write-behind")
+public record WriteBehindProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("500ms") Duration window,
+    @DefaultValue("5s") Duration maxStaleness,
+    @DefaultValue("10000") int maxBufferedUsers,
+    @DefaultValue("500") int batchSize) {}
@@ -0,0 +1,152 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.configuration.SecurityConfig;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class AdminControllerIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PreferencesService preferencesService;
+
+  @BeforeEach
+  void setup(
+      final ApplicationContext context,
+      @Autowired final PreferencesRepository preferencesRepository,
+      @Autowired final PreferencesCache preferencesCache) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    preferencesRepository.truncateTable();
+    preferencesCache.invalidateAll();
+  }
+
+  @Test
+  void thatBulkEndpointsRequireTheAdminScope() {
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/admin/preferences")
+        .exchange()
+        .expectStatus()
+        .isForbidden();
+  }
+
+  @Test
+  void thatAllPreferencesCanBeExported() {
+    preferencesService.savePreferences("user-b", preferences("b")).block();
+    preferencesService.savePreferences("user-a", preferences("a")).block();
+
+    var exported =
+        webTestClient
+            .mutateWith(
+                SecurityMockServerConfigurers.mockJwt()
+                    .authorities(new SimpleGrantedAuthority(SecurityConfig.ADMIN_AUTHORITY)))
+            .get()
+            .uri("/v1/admin/preferences")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(UserPreferencesApiDto.class)
+            .getResponseBody()
+            .map(UserPreferencesApiDto::getUserId)
+            .collectList()
+            .block();
+
+    assertEquals(List.of("user-a", "user-b"), exported);
+  }
+
+  @Test
+  void thatPreferencesCanBeImported() throws Exception {
+    webTestClient
+        .mutateWith(
+            SecurityMockServerConfigurers.mockJwt()
+                .authorities(new SimpleGrantedAuthority(SecurityConfig.ADMIN_AUTHORITY)))
+        .post()
+        .uri("/v1/admin/preferences")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .bodyValue(
+            """
+            {"userId":"user-a","properties":{"appStarter":"a"}}
+            {"userId":"user-b","properties":{"appStarter":"b"}}
+            """)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json("{\"imported\":2}", JsonCompareMode.STRICT);
+
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user-b")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(preferences("b")));
+  }
+
+  @Test
+  void thatReshardingNeedsSharding() {
+    webTestClient
+        .mutateWith(
+            SecurityMockServerConfigurers.mockJwt()
+                .authorities(new SimpleGrantedAuthority(SecurityConfig.ADMIN_AUTHORITY)))
+        .post()
+        .uri("/v1/admin/reshard")
+        .exchange()
+        .expectStatus()
+        .isEqualTo(409);
+  }
+
+  private PreferencesApiDto preferences(String appStarter) {
+    return new PreferencesApiDto().properties(Map.of("appStarter", appStarter));
+  }
+}
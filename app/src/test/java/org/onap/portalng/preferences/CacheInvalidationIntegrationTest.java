@@ -0,0 +1,168 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Changes made by another replica are simulated by writing to the table directly. */
+@SpringBootTest(
+    properties = {"preferences.cache.enabled=true", "preferences.cache.invalidation.enabled=true"})
+class CacheInvalidationIntegrationTest {
+
+  @Autowired private PreferencesService preferencesService;
+  @Autowired private PreferencesCache preferencesCache;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private DataSource dataSource;
+
+  @BeforeEach
+  void setup(@Autowired final PreferencesRepository preferencesRepository) {
+    preferencesRepository.truncateTable();
+    preferencesCache.invalidateAll();
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(
+            () ->
+                meterRegistry.get("preferences.cache.invalidation.connected").gauge().value() == 1);
+  }
+
+  @Test
+  void thatChangesOfOtherReplicasEvictCachedPreferences() {
+    preferencesService.getPreferences("user").block();
+    assertTrue(preferencesCache.getIfPresent("user").isPresent());
+
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) VALUES ('user', '{\"appStarter\":1}')");
+
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(() -> preferencesCache.getIfPresent("user").isEmpty());
+  }
+
+  @Test
+  void thatTruncatingEvictsAllCachedPreferences() throws Exception {
+    preferencesService.getPreferences("user-a").block();
+    preferencesService.getPreferences("user-b").block();
+
+    final var notifications = notificationsOf("TRUNCATE TABLE preferences");
+
+    assertEquals(1, notifications.size());
+    assertTrue(notifications.get(0).contains("\"userIds\" : null"), notifications.get(0));
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(
+            () ->
+                preferencesCache.getIfPresent("user-a").isEmpty()
+                    && preferencesCache.getIfPresent("user-b").isEmpty());
+  }
+
+  @Test
+  void thatBulkStatementsNotifyOnce() throws Exception {
+    preferencesService.getPreferences("user-1").block();
+    preferencesService.getPreferences("user-500").block();
+
+    final var notifications =
+        notificationsOf(
+            "INSERT INTO preferences (user_id, properties) "
+                + "SELECT 'user-' || i, '{}' FROM generate_series(1, 500) AS i");
+
+    assertEquals(1, notifications.size());
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(
+            () ->
+                preferencesCache.getIfPresent("user-1").isEmpty()
+                    && preferencesCache.getIfPresent("user-500").isEmpty());
+  }
+
+  @Test
+  void thatLargeStatementsEvictAllCachedPreferences() throws Exception {
+    preferencesService.getPreferences("other-user").block();
+
+    final var notifications =
+        notificationsOf(
+            "INSERT INTO preferences (user_id, properties) "
+                + "SELECT 'user-' || i, '{}' FROM generate_series(1, 20000) AS i");
+
+    assertEquals(1, notifications.size());
+    assertTrue(notifications.get(0).contains("\"userIds\" : null"), notifications.get(0));
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(() -> preferencesCache.getIfPresent("other-user").isEmpty());
+  }
+
+  @Test
+  void thatTheListenerReconnectsAndEvictsEverything() {
+    final var reconnects = meterRegistry.get("preferences.cache.invalidation.reconnects").counter();
+    final var before = reconnects.count();
+    preferencesService.getPreferences("user").block();
+
+    jdbcTemplate.queryForList(
+        "SELECT pg_terminate_backend(pid) FROM pg_stat_activity "
+            + "WHERE application_name = 'preferences-listener-primary'");
+
+    await().atMost(Duration.ofSeconds(20)).until(() -> reconnects.count() > before);
+    await()
+        .atMost(Duration.ofSeconds(20))
+        .until(() -> preferencesCache.getIfPresent("user").isEmpty());
+  }
+
+  /** The payloads sent on the channel while the statement runs. */
+  private List<String> notificationsOf(String statement) throws Exception {
+    try (var connection = dataSource.getConnection()) {
+      try (var listen = connection.createStatement()) {
+        listen.execute("LISTEN preferences_changed");
+      }
+      try {
+        jdbcTemplate.update(statement);
+        final var payloads = new ArrayList<String>();
+        // the notifications of one transaction are delivered together
+        final var notifications = connection.unwrap(PGConnection.class).getNotifications(10_000);
+        for (var notification : notifications) {
+          payloads.add(notification.getParameter());
+        }
+        return payloads;
+      } finally {
+        try (var unlisten = connection.createStatement()) {
+          unlisten.execute("UNLISTEN *");
+        }
+      }
+    }
+  }
+}
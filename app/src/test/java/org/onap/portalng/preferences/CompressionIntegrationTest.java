@@ -0,0 +1,161 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"server.compression.enabled=true", "server.compression.mime-types=text/plain"})
+@AutoConfigureWebTestClient
+class CompressionIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+
+  private String userId;
+
+  @BeforeEach
+  void setup(final ApplicationContext context) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    userId = UUID.randomUUID().toString();
+  }
+
+  @Test
+  void thatGzipRequestBodiesAreInflated() throws IOException {
+    post(gzip("{\"properties\":{\"appStarter\":\"" + "gzip".repeat(100) + "\"}}"), "gzip")
+        .expectStatus()
+        .isOk();
+
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.properties.appStarter")
+        .isEqualTo("gzip".repeat(100));
+  }
+
+  @Test
+  void thatTruncatedGzipRequestBodiesAreRejected() throws IOException {
+    final var compressed = gzip("{\"properties\":{\"appStarter\":\"truncated\"}}");
+    post(Arrays.copyOf(compressed, compressed.length - 4), "gzip").expectStatus().isBadRequest();
+  }
+
+  @Test
+  void thatTheBodyLimitAppliesToTheInflatedBody() throws IOException {
+    // about 1 KB compressed
+    post(gzip("{\"properties\":{\"appStarter\":\"" + " ".repeat(1024 * 1024) + "\"}}"), "gzip")
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE);
+  }
+
+  @Test
+  void thatUnsupportedContentEncodingsAreRejected() {
+    post("{\"properties\":{}}".getBytes(StandardCharsets.UTF_8), "br")
+        .expectStatus()
+        .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+        .expectHeader()
+        .valueEquals(HttpHeaders.ACCEPT_ENCODING, "gzip");
+  }
+
+  @Test
+  void thatResponsesAreCompressed(@LocalServerPort final int port) throws Exception {
+    // the JDK client leaves the body and Content-Encoding as they are sent
+    try (var client = HttpClient.newHttpClient()) {
+      final var uri = URI.create("http://localhost:" + port + "/actuator/prometheus");
+      final var compressed =
+          client.send(
+              HttpRequest.newBuilder(uri).header(HttpHeaders.ACCEPT_ENCODING, "gzip").build(),
+              BodyHandlers.ofByteArray());
+      final var plain =
+          client.send(HttpRequest.newBuilder(uri).build(), BodyHandlers.ofByteArray());
+
+      assertEquals(200, compressed.statusCode());
+      assertEquals(
+          Optional.of("gzip"), compressed.headers().firstValue(HttpHeaders.CONTENT_ENCODING));
+      assertTrue(compressed.body().length < plain.body().length);
+      assertEquals(Optional.empty(), plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING));
+    }
+  }
+
+  private WebTestClient.ResponseSpec post(final byte[] body, final String contentEncoding) {
+    // small buffers, so that header, deflate stream and trailer span several of them
+    final var buffers =
+        Flux.range(0, (body.length + 6) / 7)
+            .map(
+                i ->
+                    (DataBuffer)
+                        DefaultDataBufferFactory.sharedInstance.wrap(
+                            Arrays.copyOfRange(body, i * 7, Math.min(body.length, i * 7 + 7))));
+    return webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .post()
+        .uri("/v1/preferences")
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.CONTENT_ENCODING, contentEncoding)
+        .body(buffers, DataBuffer.class)
+        .exchange();
+  }
+
+  private static byte[] gzip(final String json) throws IOException {
+    final var bytes = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/** Counts the JDBC statements the JPA store issues per save. */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JpaPreferencesStoreIntegrationTest {
+
+  @Autowired private PreferencesStore store;
+  @Autowired private PreferencesRepository preferencesRepository;
+  @Autowired private ObjectMapper objectMapper;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setup(@Autowired final EntityManagerFactory entityManagerFactory) {
+    preferencesRepository.truncateTable();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void thatSavesTakeOneStatement() throws Exception {
+    final var inserted = save("{\"appStarter\":\"first\"}");
+    final var updated = save("{\"appStarter\":\"second\"}");
+
+    assertTrue(updated.getVersion() > inserted.getVersion());
+    assertEquals(
+        "second", store.findById("user").block().getProperties().get("appStarter").asText());
+  }
+
+  @Test
+  void thatUnchangedDocumentsKeepTheirVersion() throws Exception {
+    final var first = save("{\"appStarter\":\"value\", \"dashboard\":{}}");
+    // jsonb equality ignores key order and whitespace
+    final var second = save("{\"dashboard\":{}, \"appStarter\":\"value\"}");
+
+    assertEquals(first.getVersion(), second.getVersion());
+  }
+
+  private PreferencesDto save(String properties) throws Exception {
+    final var preferencesDto = new PreferencesDto();
+    preferencesDto.setUserId("user");
+    preferencesDto.setProperties(objectMapper.readTree(properties));
+
+    statistics.clear();
+    final var saved = store.save(preferencesDto).block();
+    assertEquals(1, statistics.getPrepareStatementCount());
+    return saved;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.configuration.SecurityConfig;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.openapi.model.UserIdsApiDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class LookupControllerIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+  @Autowired private PreferencesService preferencesService;
+
+  @BeforeEach
+  void setup(
+      final ApplicationContext context,
+      @Autowired final PreferencesRepository preferencesRepository,
+      @Autowired final PreferencesCache preferencesCache) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    preferencesRepository.truncateTable();
+    preferencesCache.invalidateAll();
+  }
+
+  @Test
+  void thatLookupsRequireTheLookupScope() {
+    webTestClient
+        .mutateWith(
+            SecurityMockServerConfigurers.mockJwt()
+                .authorities(new SimpleGrantedAuthority(SecurityConfig.ADMIN_AUTHORITY)))
+        .post()
+        .uri("/v1/lookup/preferences")
+        .bodyValue(new UserIdsApiDto().userIds(List.of("user-a")))
+        .exchange()
+        .expectStatus()
+        .isForbidden();
+  }
+
+  @Test
+  void thatUsersAreLookedUpInTheOrderAskedFor() {
+    preferencesService.savePreferences("user-a", preferences("a")).block();
+    preferencesService.savePreferences("user-b", preferences("b")).block();
+
+    final var found = lookup("user-b", "user-unknown", "user-a", "user-b");
+
+    assertEquals(
+        List.of("user-b", "user-unknown", "user-a"),
+        found.stream().map(UserPreferencesApiDto::getUserId).toList());
+    assertEquals(Map.of("appStarter", "b"), found.get(0).getProperties());
+    assertEquals(null, found.get(1).getProperties());
+    assertEquals(Map.of("appStarter", "a"), found.get(2).getProperties());
+  }
+
+  @Test
+  void thatLargeLookupsAreReadInChunks() {
+    preferencesService.savePreferences("user-0599", preferences("last")).block();
+    final var userIds =
+        IntStream.range(0, 600).mapToObj(i -> String.format("user-%04d", i)).toList();
+
+    final var found = lookup(userIds.toArray(String[]::new));
+
+    assertEquals(userIds, found.stream().map(UserPreferencesApiDto::getUserId).toList());
+    assertEquals(Map.of("appStarter", "last"), found.getLast().getProperties());
+  }
+
+  @Test
+  void thatTooManyUsersAreRejected() {
+    final var userIds = new ArrayList<String>();
+    IntStream.range(0, 1001).forEach(i -> userIds.add("user-" + i));
+
+    webTestClient
+        .mutateWith(
+            SecurityMockServerConfigurers.mockJwt()
+                .authorities(new SimpleGrantedAuthority(SecurityConfig.LOOKUP_AUTHORITY)))
+        .post()
+        .uri("/v1/lookup/preferences")
+        .bodyValue(new UserIdsApiDto().userIds(userIds))
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  private List<UserPreferencesApiDto> lookup(final String... userIds) {
+    return webTestClient
+        .mutateWith(
+            SecurityMockServerConfigurers.mockJwt()
+                .authorities(new SimpleGrantedAuthority(SecurityConfig.LOOKUP_AUTHORITY)))
+        .post()
+        .uri("/v1/lookup/preferences")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .bodyValue(new UserIdsApiDto().userIds(Arrays.asList(userIds)))
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .returnResult(UserPreferencesApiDto.class)
+        .getResponseBody()
+        .collectList()
+        .block();
+  }
+
+  private PreferencesApiDto preferences(final String appStarter) {
+    return new PreferencesApiDto().properties(Map.of("appStarter", appStarter));
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.Map;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Runs the changelog in a schema of its own, so that the table of the other tests is not
+ * partitioned.
+ */
+@SpringBootTest
+class PartitionedTableMigrationIntegrationTest {
+
+  private static final String SCHEMA = "partition_migration";
+
+  private Connection connection;
+
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setup(
+      @Value("${spring.datasource.url}") final String url,
+      @Value("${spring.datasource.username}") final String username,
+      @Value("${spring.datasource.password}") final String password)
+      throws Exception {
+    connection = DriverManager.getConnection(url, username, password);
+    jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+    jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+    jdbcTemplate.execute("SET search_path TO " + SCHEMA);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    jdbcTemplate.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+    connection.close();
+  }
+
+  @Test
+  void thatPartitioningIsOffByDefault() throws Exception {
+    migrate(0, Integer.MAX_VALUE);
+
+    assertEquals(
+        "r",
+        jdbcTemplate.queryForObject(
+            "SELECT relkind FROM pg_class WHERE oid = 'preferences'::regclass", String.class));
+  }
+
+  @Test
+  void thatTheTableIsMovedWhileItIsWritten() throws Exception {
+    migrate(0, Integer.MAX_VALUE);
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) "
+            + "SELECT 'user-' || i, jsonb_build_object('n', i) FROM generate_series(1, 250) i");
+    final var versionBefore = version("user-1");
+
+    // only the mirroring trigger: the writes below happen while the rows are copied
+    migrate(4, 1);
+    jdbcTemplate.update(
+        "UPDATE preferences SET properties = '{\"n\":\"updated\"}' WHERE user_id = 'user-2'");
+    jdbcTemplate.update("DELETE FROM preferences WHERE user_id = 'user-3'");
+    jdbcTemplate.update("INSERT INTO preferences (user_id, properties) VALUES ('user-new', '{}')");
+    final var expected = documents("preferences");
+
+    migrate(4, Integer.MAX_VALUE);
+
+    assertEquals(
+        "p",
+        jdbcTemplate.queryForObject(
+            "SELECT relkind FROM pg_class WHERE oid = 'preferences'::regclass", String.class));
+    assertEquals(
+        4,
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_inherits WHERE inhparent = 'preferences'::regclass",
+            Integer.class));
+    assertEquals(expected, documents("preferences"));
+    assertEquals(versionBefore, version("user-1"));
+
+    jdbcTemplate.update("UPDATE preferences SET properties = '{}' WHERE user_id = 'user-1'");
+    assertTrue(version("user-1") > versionBefore);
+  }
+
+  private void migrate(final int partitions, final int changeSets) throws Exception {
+    final var database =
+        DatabaseFactory.getInstance()
+            .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+    database.setDefaultSchemaName(SCHEMA);
+    final var liquibase =
+        new Liquibase("db/changelog.xml", new ClassLoaderResourceAccessor(), database);
+    liquibase.setChangeLogParameter("partitions", partitions);
+    liquibase.setChangeLogParameter("partitionsBackfillBatchSize", 100);
+    liquibase.update(changeSets, new Contexts(), new LabelExpression());
+    // Liquibase leaves the connection in manual commit mode
+    connection.setAutoCommit(true);
+  }
+
+  private List<Map<String, Object>> documents(final String table) {
+    return jdbcTemplate.queryForList(
+        "SELECT user_id, properties::text, version FROM " + table + " ORDER BY user_id");
+  }
+
+  private long version(final String userId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT version FROM preferences WHERE user_id = ?", Long.class, userId);
+  }
+}
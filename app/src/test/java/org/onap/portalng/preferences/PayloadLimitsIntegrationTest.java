@@ -0,0 +1,180 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.configuration.SecurityConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "preferences.limits.max-body-size=1KB",
+      "preferences.limits.max-depth=4",
+      "preferences.limits.max-keys=8",
+      "preferences.limits.quota.enabled=true",
+      "preferences.limits.quota.max-stored-size=300B"
+    })
+@AutoConfigureWebTestClient
+class PayloadLimitsIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+
+  private String userId;
+
+  @BeforeEach
+  void setup(final ApplicationContext context) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    userId = UUID.randomUUID().toString();
+  }
+
+  @Test
+  void thatTooLargeBodiesAreRejected() {
+    send(HttpMethod.POST, "{\"properties\":{\"text\":\"" + "x".repeat(2048) + "\"}}")
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE)
+        .expectHeader()
+        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .expectBody()
+        .jsonPath("$.status")
+        .isEqualTo(413)
+        .jsonPath("$.title")
+        .isEqualTo("Payload too large");
+  }
+
+  @Test
+  void thatTooDeeplyNestedBodiesAreRejected() {
+    send(HttpMethod.POST, "{\"properties\":{\"a\":{\"b\":{\"c\":{\"d\":{}}}}}}")
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE);
+  }
+
+  @Test
+  void thatBodiesWithTooManyKeysAreRejected() {
+    send(
+            HttpMethod.PATCH,
+            "{\"properties\":{\"a\":1,\"b\":2,\"c\":3,\"d\":4,\"e\":5,\"f\":6,\"g\":7,\"h\":8}}")
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE);
+  }
+
+  @Test
+  void thatCborBodiesWithTooManyKeysAreRejected() throws Exception {
+    final var properties = new LinkedHashMap<String, Integer>();
+    for (var i = 0; i < 8; i++) {
+      properties.put("key" + i, i);
+    }
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .post()
+        .uri("/v1/preferences")
+        .contentType(MediaType.APPLICATION_CBOR)
+        .bodyValue(new CBORMapper().writeValueAsBytes(Map.of("properties", properties)))
+        .exchange()
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE);
+  }
+
+  @Test
+  void thatMalformedBodiesAreStillBadRequests() {
+    send(HttpMethod.POST, "{ no json").expectStatus().isBadRequest();
+  }
+
+  @Test
+  void thatSavesBeyondTheQuotaAreRejected() {
+    send(HttpMethod.POST, "{\"properties\":{\"text\":\"" + "x".repeat(400) + "\"}}")
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE)
+        .expectBody()
+        .jsonPath("$.title")
+        .isEqualTo("Preferences quota exceeded");
+  }
+
+  @Test
+  void thatPatchesBeyondTheQuotaAreRejected() {
+    final var text = "x".repeat(200);
+    send(HttpMethod.POST, "{\"properties\":{\"a\":\"" + text + "\"}}").expectStatus().isOk();
+
+    send(HttpMethod.PATCH, "{\"properties\":{\"b\":\"" + text + "\"}}")
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE)
+        .expectBody()
+        .jsonPath("$.title")
+        .isEqualTo("Preferences quota exceeded");
+
+    // replacing the value keeps the document within the quota
+    send(HttpMethod.PATCH, "{\"properties\":{\"a\":null,\"b\":\"" + text + "\"}}")
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.properties.b")
+        .isEqualTo(text);
+  }
+
+  @Test
+  void thatImportedLinesAreLimited() {
+    webTestClient
+        .mutateWith(
+            SecurityMockServerConfigurers.mockJwt()
+                .authorities(new SimpleGrantedAuthority(SecurityConfig.ADMIN_AUTHORITY)))
+        .post()
+        .uri("/v1/admin/preferences")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .bodyValue(
+            "{\"userId\":\"user-a\",\"properties\":{}}\n"
+                + "{\"userId\":\"user-b\",\"properties\":{\"a\":{\"b\":{\"c\":{\"d\":{}}}}}}\n")
+        .exchange()
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE);
+  }
+
+  private WebTestClient.ResponseSpec send(final HttpMethod method, final String body) {
+    return webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .method(method)
+        .uri("/v1/preferences")
+        .contentType(
+            method == HttpMethod.PATCH
+                ? MediaType.valueOf("application/merge-patch+json")
+                : MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .exchange();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Writes that bypass the service are made to the table directly. */
+@SpringBootTest(properties = "preferences.cache.enabled=true")
+class PreferencesCacheIntegrationTest {
+
+  @Autowired private PreferencesService preferencesService;
+  @Autowired private PreferencesCache preferencesCache;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setup(@Autowired final PreferencesRepository preferencesRepository) {
+    preferencesRepository.truncateTable();
+    preferencesCache.invalidateAll();
+  }
+
+  @Test
+  void thatReadsAreServedFromTheCache() {
+    preferencesService.getPreferences("user").block();
+    assertTrue(preferencesCache.getIfPresent("user").isPresent());
+
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) VALUES ('user', '{\"appStarter\":1}')");
+
+    assertNull(preferencesService.getPreferences("user").block().preferences().getProperties());
+  }
+
+  @Test
+  void thatSavesReplaceTheCachedPreferences() {
+    preferencesService.getPreferences("user").block();
+
+    preferencesService
+        .savePreferences("user", new PreferencesApiDto().properties(Map.of("appStarter", 1)))
+        .block();
+
+    final var preferences = preferencesService.getPreferences("user").block();
+    assertEquals(
+        1,
+        objectMapper
+            .valueToTree(preferences.preferences().getProperties())
+            .path("appStarter")
+            .asInt());
+  }
+}
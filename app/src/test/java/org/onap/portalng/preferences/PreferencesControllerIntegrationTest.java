@@ -21,10 +21,18 @@
 
 package org.onap.portalng.preferences;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
 import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
 import org.onap.portalng.preferences.repository.PreferencesRepository;
 import org.onap.portalng.preferences.services.PreferencesService;
@@ -32,7 +40,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -45,13 +57,15 @@ public class PreferencesControllerIntegrationTest {
   @BeforeEach
   void setup(
       final ApplicationContext context,
-      @Autowired final PreferencesRepository preferencesRepository) {
+      @Autowired final PreferencesRepository preferencesRepository,
+      @Autowired final PreferencesCache preferencesCache) {
     webTestClient =
         WebTestClient.bindToApplicationContext(context)
             .apply(SecurityMockServerConfigurers.springSecurity())
             .configureClient()
             .build();
     preferencesRepository.truncateTable();
+    preferencesCache.invalidateAll();
   }
 
   @Test
@@ -65,6 +79,61 @@ public class PreferencesControllerIntegrationTest {
         .isOk();
   }
 
+  @Test
+  void thatRequestExecutionTimeIsRecorded(@Autowired final MeterRegistry meterRegistry) {
+    final var timer =
+        meterRegistry.get("preferences.request.execution").tag("status", "COMPLETE").timer();
+    final var count = timer.count();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    assertEquals(count + 1, timer.count());
+  }
+
+  @Test
+  void thatServiceMetricsArePublished() throws Exception {
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .post()
+        .uri("/v1/preferences")
+        .bodyValue(getSimplePreferencesApiDto())
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    final var prometheus =
+        webTestClient
+            .get()
+            .uri("/actuator/prometheus")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(prometheus);
+    assertTrue(
+        prometheus.contains(
+            "preferences_service_seconds_bucket{operation=\"get\",outcome=\"success\",le=\"+Inf\"}"));
+    assertTrue(prometheus.contains("preferences_service_seconds_count{operation=\"save\""));
+    assertTrue(prometheus.contains("preferences_persistence_queue_seconds_bucket"));
+    assertTrue(prometheus.contains("preferences_persistence_execution_seconds_bucket"));
+    assertTrue(prometheus.contains("preferences_document_size_bytes_bucket"));
+    assertTrue(prometheus.contains("preferences_document_keys_bucket"));
+    assertTrue(prometheus.contains("preferences_defaults_total"));
+  }
+
   @Test
   void testUnauthorizedAccess() {
     webTestClient.get().uri("/v1/preferences").exchange().expectStatus().isUnauthorized();
@@ -114,6 +183,27 @@ public class PreferencesControllerIntegrationTest {
         .json(objectMapper.writeValueAsString(prefs));
   }
 
+  @Test
+  void thatProblemsAreAnsweredWithTheirOwnStatus() {
+    // a problem used to be answered with a bare 400 like any other error
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .put()
+        .uri("/v1/preferences")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"properties\":{\"text\":\"" + "x".repeat(300 * 1024) + "\"}}")
+        .exchange()
+        .expectStatus()
+        .isEqualTo(HttpStatus.CONTENT_TOO_LARGE)
+        .expectHeader()
+        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+        .expectBody()
+        .jsonPath("$.status")
+        .isEqualTo(413)
+        .jsonPath("$.title")
+        .isEqualTo("Payload too large");
+  }
+
   @Test
   void thatComplexUserPreferencesCanBeRetrieved(
       @Autowired final PreferencesService preferencesService) throws Exception {
@@ -132,6 +222,238 @@ public class PreferencesControllerIntegrationTest {
         .json(objectMapper.writeValueAsString(prefs));
   }
 
+  @Test
+  void thatCachedUserPreferencesAreRefreshedOnUpdate() throws Exception {
+    final var prefs = getSimplePreferencesApiDto();
+    // the first read caches the default preferences of the user
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(getDefaultPreferencesApiDto()));
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .put()
+        .uri("/v1/preferences")
+        .bodyValue(prefs)
+        .exchange()
+        .expectStatus()
+        .isOk();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(prefs));
+  }
+
+  @Test
+  void thatUserPreferencesCanBePatched(@Autowired final PreferencesService preferencesService)
+      throws Exception {
+    preferencesService.savePreferences("user", getComplexPreferencesApiDto()).block();
+    final var patch =
+        new PreferencesApiDto()
+            .properties(
+                objectMapper.readValue(
+                    "{\"appStarter\":null, \"dashboard\":{\"layout\":[1,2]}}", Map.class));
+    final var expected =
+        new PreferencesApiDto()
+            .properties(
+                objectMapper.readValue(
+                    "{\"dashboard\":{\"dashboardKey\":\"dashboardValue\", \"layout\":[1,2]}}",
+                    Map.class));
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .patch()
+        .uri("/v1/preferences")
+        .contentType(MediaType.valueOf("application/merge-patch+json"))
+        .bodyValue(objectMapper.writeValueAsString(patch))
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(expected), JsonCompareMode.STRICT);
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(expected), JsonCompareMode.STRICT);
+  }
+
+  @Test
+  void thatUnchangedUserPreferencesAreNotModified(
+      @Autowired final PreferencesService preferencesService,
+      @Autowired final PreferencesCache preferencesCache)
+      throws Exception {
+    preferencesService.savePreferences("user", getComplexPreferencesApiDto()).block();
+    final var etag =
+        webTestClient
+            .mutateWith(
+                SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+            .get()
+            .uri("/v1/preferences")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(HttpHeaders.ETAG)
+            .returnResult(String.class)
+            .getResponseHeaders()
+            .getETag();
+
+    // answered from the version column alone
+    preferencesCache.invalidateAll();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .ifNoneMatch(etag)
+        .exchange()
+        .expectStatus()
+        .isNotModified()
+        .expectHeader()
+        .valueEquals(HttpHeaders.ETAG, etag)
+        .expectHeader()
+        .valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+        .expectBody()
+        .isEmpty();
+
+    preferencesService.savePreferences("user", getSimplePreferencesApiDto()).block();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .ifNoneMatch(etag)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(getSimplePreferencesApiDto()));
+  }
+
+  @Test
+  void thatPartsOfUserPreferencesCanBeRetrieved(
+      @Autowired final PreferencesService preferencesService,
+      @Autowired final PreferencesCache preferencesCache)
+      throws Exception {
+    preferencesService.savePreferences("user", getComplexPreferencesApiDto()).block();
+    // read through the #> path extraction rather than the cached document
+    preferencesCache.invalidateAll();
+
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences?pointer={pointer}", "/dashboard/dashboardKey")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json("{\"properties\":\"dashboardValue\"}", JsonCompareMode.STRICT);
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences?pointer=dashboard")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json("{\"properties\":{\"dashboardKey\":\"dashboardValue\"}}", JsonCompareMode.STRICT);
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences?pointer=/unknown")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(getDefaultPreferencesApiDto()));
+  }
+
+  @Test
+  void thatUserPreferencesCanBeSavedAsCbor() throws Exception {
+    final var prefs = getComplexPreferencesApiDto();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .post()
+        .uri("/v1/preferences")
+        .contentType(MediaType.APPLICATION_CBOR)
+        .bodyValue(new CBORMapper().writeValueAsBytes(prefs))
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(prefs), JsonCompareMode.STRICT);
+
+    final var cbor =
+        webTestClient
+            .mutateWith(
+                SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+            .get()
+            .uri("/v1/preferences")
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_CBOR)
+            .expectHeader()
+            .valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+    assertEquals(objectMapper.valueToTree(prefs), new CBORMapper().readTree(cbor));
+  }
+
+  @Test
+  void thatUserPreferencesCanBeRetrievedAsSmile() throws Exception {
+    final var prefs = getComplexPreferencesApiDto();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .post()
+        .uri("/v1/preferences")
+        .bodyValue(prefs)
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    final var smile =
+        webTestClient
+            .mutateWith(
+                SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+            .get()
+            .uri("/v1/preferences")
+            .accept(MediaType.valueOf("application/x-jackson-smile"))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType("application/x-jackson-smile")
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+    assertEquals(objectMapper.valueToTree(prefs), new SmileMapper().readTree(smile));
+  }
+
   private PreferencesApiDto getDefaultPreferencesApiDto() {
     return new PreferencesApiDto().properties(null);
   }
@@ -0,0 +1,189 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesChangedEvent;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.onap.portalng.preferences.services.PreferencesTransferService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams are read in the background into a queue. The limits are lowered to one stream per user,
+ * and the heartbeat to a fraction of a second; the context is closed afterwards.
+ */
+@DirtiesContext
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "preferences.stream.heartbeat=200ms",
+      "preferences.stream.max-connections-per-user=1"
+    })
+@AutoConfigureWebTestClient
+class PreferencesStreamIntegrationTest {
+
+  private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> EVENT =
+      new ParameterizedTypeReference<>() {};
+
+  @Autowired private WebTestClient webTestClient;
+  @Autowired private PreferencesService preferencesService;
+
+  private final BlockingQueue<ServerSentEvent<Map<String, Object>>> events =
+      new LinkedBlockingQueue<>();
+
+  private Disposable stream;
+
+  private String userId;
+
+  @BeforeEach
+  void setup(final ApplicationContext context) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    userId = UUID.randomUUID().toString();
+    stream = open().getResponseBody().subscribe(events::add);
+  }
+
+  @AfterEach
+  void closeStream() {
+    stream.dispose();
+  }
+
+  @Test
+  void thatSavesAreStreamed() throws Exception {
+    final var current = nextPreferences();
+    assertNull(current.data().get("properties"));
+    assertNull(current.id());
+
+    final var saved =
+        preferencesService
+            .savePreferences(userId, new PreferencesApiDto().properties(Map.of("theme", "dark")))
+            .block();
+
+    final var changed = nextPreferences();
+    assertEquals(Map.of("theme", "dark"), changed.data().get("properties"));
+    assertEquals(Long.toString(saved.version()), changed.id());
+  }
+
+  @Test
+  void thatImportsAreStreamed(@Autowired final PreferencesTransferService transferService)
+      throws Exception {
+    nextPreferences();
+    transferService
+        .importPreferences(
+            Flux.just(
+                new UserPreferencesApiDto().userId(userId).properties(Map.of("theme", "imported"))))
+        .block();
+
+    assertEquals(Map.of("theme", "imported"), nextPreferences().data().get("properties"));
+  }
+
+  @Test
+  void thatChangesOfOtherReplicasAreStreamed(
+      @Autowired final JdbcTemplate jdbcTemplate,
+      @Autowired final ApplicationEventPublisher eventPublisher)
+      throws Exception {
+    nextPreferences();
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) VALUES (?, '{\"theme\":\"light\"}')",
+        userId);
+    // what the change listener publishes for the notification of the insert
+    eventPublisher.publishEvent(new PreferencesChangedEvent(userId, Instant.now()));
+
+    assertEquals(Map.of("theme", "light"), nextPreferences().data().get("properties"));
+  }
+
+  @Test
+  void thatHeartbeatsAreSentWhileNothingChanges() throws Exception {
+    nextPreferences();
+    final var heartbeat = events.poll(5, TimeUnit.SECONDS);
+    assertNotNull(heartbeat);
+    assertNull(heartbeat.event());
+    assertNotNull(heartbeat.comment());
+  }
+
+  @Test
+  void thatStreamsBeyondTheLimitAreRejected() throws Exception {
+    nextPreferences();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .get()
+        .uri("/v1/stream/preferences")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus()
+        .isEqualTo(429);
+  }
+
+  private FluxExchangeResult<ServerSentEvent<Map<String, Object>>> open() {
+    return webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .get()
+        .uri("/v1/stream/preferences")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .returnResult(EVENT);
+  }
+
+  /** The next event with preferences, skipping heartbeats */
+  private ServerSentEvent<Map<String, Object>> nextPreferences() throws InterruptedException {
+    while (true) {
+      final var event = events.poll(10, TimeUnit.SECONDS);
+      assertNotNull(event, "no preferences streamed");
+      if ("preferences".equals(event.event())) {
+        return event;
+      }
+    }
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.onap.portalng.preferences.repository.R2dbcPreferencesStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Runs the preferences API and the R2DBC store against the database of the JDBC datasource, which
+ * Liquibase migrates.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "preferences.storage.type=r2dbc")
+@ContextConfiguration(initializers = R2dbcPreferencesStoreIntegrationTest.SameDatabase.class)
+@AutoConfigureWebTestClient
+class R2dbcPreferencesStoreIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PreferencesStore store;
+
+  @BeforeEach
+  void setup(
+      final ApplicationContext context,
+      @Autowired final PreferencesRepository preferencesRepository,
+      @Autowired final PreferencesCache preferencesCache) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    preferencesRepository.truncateTable();
+    preferencesCache.invalidateAll();
+  }
+
+  @Test
+  void thatR2dbcStoreIsSelected() {
+    assertInstanceOf(R2dbcPreferencesStore.class, store);
+  }
+
+  @Test
+  void thatUserPreferencesCanBeSavedAndRetrieved() throws Exception {
+    final var prefs =
+        new PreferencesApiDto()
+            .properties(
+                objectMapper.readValue(
+                    "{\"appStarter\":\"appStarterValue1\", \"dashboard\":{\"dashboardKey\":\"dashboardValue\"}}",
+                    Map.class));
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .put()
+        .uri("/v1/preferences")
+        .bodyValue(prefs)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(prefs));
+
+    assertEquals(
+        objectMapper.valueToTree(prefs.getProperties()),
+        store.findById("user").block().getProperties());
+  }
+
+  @Test
+  void thatDefaultUserPreferencesCanBeRetrieved() throws Exception {
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(new PreferencesApiDto().properties(null)));
+  }
+
+  @Test
+  void thatDocumentsCanBeReadRawAndInParts() throws Exception {
+    final var saved =
+        store.save(preferences("user", "{\"dashboard\":{\"key\":\"value\"}}")).block();
+
+    final var raw = store.findRawById("user").block();
+    assertEquals(
+        json("{\"dashboard\":{\"key\":\"value\"}}"), objectMapper.readTree(raw.properties()));
+    assertEquals(saved.getVersion(), raw.version());
+    assertEquals(saved.getVersion(), store.findVersionById("user").block());
+    assertEquals(
+        json("\"value\""),
+        store.findByPointer("user", JsonPointer.compile("/dashboard/key")).block().getProperties());
+  }
+
+  @Test
+  void thatBatchesAreUpsertedAndReadBack() throws Exception {
+    store
+        .saveAll(
+            List.of(
+                preferences("a", "{\"n\":1}"),
+                preferences("b", "{\"n\":1}"),
+                // the last entry of a user wins
+                preferences("a", "{\"n\":2}")))
+        .block();
+
+    assertEquals(
+        Map.of("a", json("{\"n\":2}"), "b", json("{\"n\":1}")),
+        store
+            .findAllById(List.of("a", "b", "unknown"))
+            .collectMap(PreferencesDto::getUserId, PreferencesDto::getProperties)
+            .block());
+    assertEquals(
+        List.of("a", "b"), store.findAll(1).map(PreferencesDto::getUserId).collectList().block());
+  }
+
+  @Test
+  void thatMergePatchesAreApplied() throws Exception {
+    assertEquals(
+        json("{\"a\":1,\"b\":{\"c\":1}}"),
+        store.mergePatch("user", json("{\"a\":1,\"b\":{\"c\":1}}")).block().getProperties());
+    assertEquals(
+        json("{\"b\":{\"c\":1,\"d\":2}}"),
+        store.mergePatch("user", json("{\"a\":null,\"b\":{\"d\":2}}")).block().getProperties());
+  }
+
+  @Test
+  void thatNullPatchesClearTheDocument() throws Exception {
+    store.save(preferences("user", "{\"a\":1}")).block();
+
+    assertNull(store.mergePatch("user", null).block().getProperties());
+    assertNull(store.findById("user").block().getProperties());
+  }
+
+  private PreferencesDto preferences(final String userId, final String properties)
+      throws Exception {
+    final var preferencesDto = new PreferencesDto();
+    preferencesDto.setUserId(userId);
+    preferencesDto.setProperties(json(properties));
+    return preferencesDto;
+  }
+
+  private JsonNode json(final String json) throws Exception {
+    return objectMapper.readTree(json);
+  }
+
+  /**
+   * Points the R2DBC pool at the database of the JDBC datasource. A <code>jdbc:tc:</code> url
+   * starts its database with the first connection and stops it with the last one, so a connection
+   * is held until the context is closed.
+   */
+  static class SameDatabase
+      implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(final ConfigurableApplicationContext context) {
+      final var environment = context.getEnvironment();
+      final var username = environment.getProperty("spring.datasource.username");
+      final var password = environment.getProperty("spring.datasource.password");
+      try {
+        final Connection connection =
+            DriverManager.getConnection(
+                environment.getRequiredProperty("spring.datasource.url"), username, password);
+        final var database = URI.create(connection.getMetaData().getURL().substring(5));
+        environment
+            .getPropertySources()
+            .addFirst(
+                new MapPropertySource(
+                    "r2dbc",
+                    Map.of(
+                        "preferences.storage.r2dbc.url",
+                        "r2dbc:postgresql://%s:%d%s"
+                            .formatted(
+                                database.getHost(),
+                                database.getPort() < 0 ? 5432 : database.getPort(),
+                                database.getPath()),
+                        "preferences.storage.r2dbc.username",
+                        username,
+                        "preferences.storage.r2dbc.password",
+                        password)));
+        context.addApplicationListener(
+            (ApplicationListener<ContextClosedEvent>) event -> close(connection));
+      } catch (SQLException ex) {
+        throw new IllegalStateException("Cannot connect to the test database", ex);
+      }
+    }
+
+    private static void close(final Connection connection) {
+      try {
+        connection.close();
+      } catch (SQLException ex) {
+        // the database is going away anyway
+      }
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "preferences.storage.raw-reads=true")
+@AutoConfigureWebTestClient
+class RawReadsIntegrationTest {
+
+  private static final String DOCUMENT =
+      """
+      {"properties": {
+        "text": "ünïcödé \\"quoted\\" back\\\\slash/ \\u0001 \\t 😀",
+        "numbers": [0, -1, 1.5, 1.50, 12345678901234567890, 1e3, -0.0],
+        "nested": {"list": [{"c": null}, true, false, []], "a": {}},
+        "empty": ""
+      }}
+      """;
+
+  @Autowired private WebTestClient webTestClient;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PreferencesService preferencesService;
+
+  private String userId;
+
+  @BeforeEach
+  void setup(final ApplicationContext context) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    userId = UUID.randomUUID().toString();
+  }
+
+  @Test
+  void thatStoredDocumentsArePassedThroughUnchanged() throws Exception {
+    final var saved =
+        webTestClient
+            .mutateWith(
+                SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+            .post()
+            .uri("/v1/preferences")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(DOCUMENT)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(String.class);
+
+    final var raw =
+        webTestClient
+            .mutateWith(
+                SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+            .get()
+            .uri("/v1/preferences")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("ETag", saved.getResponseHeaders().getETag())
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+    assertNotNull(raw);
+
+    // the parsed and re-serialized document, as served without raw reads
+    final var parsed =
+        objectMapper.writeValueAsString(
+            preferencesService.getPreferences(userId).block().preferences());
+    // the database renders jsonb with blanks between tokens, apart from those the bytes are equal
+    assertEquals(parsed, objectMapper.writeValueAsString(objectMapper.readTree(raw)));
+  }
+
+  @Test
+  void thatUsersWithoutPreferencesGetDefaults() {
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json("{\"properties\":null}", JsonCompareMode.STRICT);
+  }
+
+  @Test
+  void thatBinaryFormatsAreStillRendered() throws Exception {
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+        .post()
+        .uri("/v1/preferences")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(DOCUMENT)
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    final var cbor =
+        webTestClient
+            .mutateWith(
+                SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", userId)))
+            .get()
+            .uri("/v1/preferences")
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+    assertEquals(
+        objectMapper.valueToTree(preferencesService.getPreferences(userId).block().preferences()),
+        new CBORMapper().readTree(cbor));
+  }
+}
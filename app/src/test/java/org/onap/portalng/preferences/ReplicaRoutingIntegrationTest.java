@@ -0,0 +1,186 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.cache.PreferencesChangedEvent;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.onap.portalng.preferences.services.PreferencesTransferService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import reactor.core.publisher.Flux;
+
+/**
+ * The replica is a schema of its own that is filled by the test, so a document read from the
+ * replica can be told apart from the one on the primary. The context is closed afterwards, as its
+ * second pool is not shared with any other test.
+ */
+@DirtiesContext
+@SpringBootTest(
+    properties = {
+      "preferences.cache.enabled=true",
+      "preferences.storage.replica.enabled=true",
+      "preferences.storage.replica.url=${spring.datasource.url}?currentSchema=replica",
+      "preferences.storage.replica.username=${spring.datasource.username}",
+      "preferences.storage.replica.password=${spring.datasource.password}",
+      "preferences.storage.replica.read-your-writes=1s"
+    })
+class ReplicaRoutingIntegrationTest {
+
+  @Autowired private PreferencesService preferencesService;
+  @Autowired private PreferencesCache preferencesCache;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private ObjectMapper objectMapper;
+
+  private JdbcTemplate replica;
+
+  private String userId;
+
+  @BeforeEach
+  void setup(
+      @Value("${preferences.storage.replica.url}") final String url,
+      @Value("${preferences.storage.replica.username}") final String username,
+      @Value("${preferences.storage.replica.password}") final String password) {
+    // the pool of the replica is read-only
+    replica = new JdbcTemplate(new DriverManagerDataSource(url, username, password));
+    replica.execute("CREATE SCHEMA IF NOT EXISTS replica");
+    replica.execute(
+        "CREATE TABLE IF NOT EXISTS replica.preferences "
+            + "(user_id text PRIMARY KEY, properties jsonb, version bigint NOT NULL DEFAULT 0)");
+    userId = UUID.randomUUID().toString();
+    replica.update(
+        "INSERT INTO replica.preferences (user_id, properties) VALUES (?, '{\"source\":\"replica\"}')",
+        userId);
+  }
+
+  @Test
+  void thatReadsGoToTheReplica() {
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) VALUES (?, '{\"source\":\"primary\"}')",
+        userId);
+    final var replicaReads = reads("replica");
+
+    assertEquals("replica", source());
+    assertEquals(replicaReads + 1, reads("replica"));
+  }
+
+  @Test
+  void thatUsersReadTheirOwnWritesFromThePrimary() {
+    final var primaryReads = reads("primary");
+    preferencesService
+        .savePreferences(userId, new PreferencesApiDto().properties(Map.of("source", "primary")))
+        .block();
+
+    preferencesCache.invalidate(userId);
+    assertEquals("primary", source());
+    assertEquals(primaryReads + 1, reads("primary"));
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM preferences WHERE user_id = ?", Integer.class, userId));
+
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(
+            () -> {
+              preferencesCache.invalidate(userId);
+              return "replica".equals(source());
+            });
+  }
+
+  @Test
+  void thatImportedUsersAreReadFromThePrimary(
+      @Autowired final PreferencesTransferService transferService) {
+    assertEquals("replica", source());
+    transferService
+        .importPreferences(
+            Flux.just(
+                new UserPreferencesApiDto().userId(userId).properties(Map.of("source", "primary"))))
+        .block();
+
+    assertEquals("primary", source());
+  }
+
+  @Test
+  void thatUsersChangedOnOtherReplicasAreReadFromThePrimary(
+      @Autowired final ApplicationEventPublisher eventPublisher) {
+    assertEquals("replica", source());
+    // saved on another replica of the service, the read replica has not caught up yet
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) VALUES (?, '{\"source\":\"primary\"}')",
+        userId);
+    eventPublisher.publishEvent(new PreferencesChangedEvent(userId, Instant.now()));
+
+    assertEquals("primary", source());
+    // and the primary's document is what got cached
+    assertEquals("primary", source());
+  }
+
+  @Test
+  void thatAllReadsGoToThePrimaryAfterUnattributedChanges(
+      @Autowired final ApplicationEventPublisher eventPublisher) {
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) VALUES (?, '{\"source\":\"primary\"}')",
+        userId);
+    eventPublisher.publishEvent(PreferencesChangedEvent.all());
+
+    assertEquals("primary", source());
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(
+            () -> {
+              preferencesCache.invalidate(userId);
+              return "replica".equals(source());
+            });
+  }
+
+  private String source() {
+    final var preferences = preferencesService.getPreferences(userId).block();
+    return objectMapper
+        .valueToTree(preferences.preferences().getProperties())
+        .path("source")
+        .asText();
+  }
+
+  private double reads(final String route) {
+    return meterRegistry.get("preferences.read.route").tag("route", route).counter().count();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      // practically no successful request is sampled
+      "logger.sampling.one-in=1000000000",
+      "logger.sampling.slow-threshold=1h",
+      "logger.async.enabled=true"
+    })
+@AutoConfigureWebTestClient
+@ExtendWith(OutputCaptureExtension.class)
+class RequestLoggingIntegrationTest {
+
+  private static final String TRACE_ID_HEADER = "x-b3-traceid";
+
+  @Autowired private WebTestClient webTestClient;
+
+  @BeforeEach
+  void setup(final ApplicationContext context) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+  }
+
+  @Test
+  void thatOnlyFailedRequestsAreLoggedWhenSampled(final CapturedOutput output) {
+    final var successful = UUID.randomUUID().toString();
+    final var failed = UUID.randomUUID().toString();
+
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .header(TRACE_ID_HEADER, successful)
+        .exchange()
+        .expectStatus()
+        .isOk();
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .post()
+        .uri("/v1/preferences")
+        .header(TRACE_ID_HEADER, failed)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{ no json")
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+
+    // events are appended in order, so once the failed request is logged the other one would be
+    await()
+        .untilAsserted(
+            () ->
+                assertTrue(
+                    output
+                        .getOut()
+                        .lines()
+                        .anyMatch(
+                            line ->
+                                line.contains(failed) && line.contains("\"status\":\"ERROR\""))));
+    assertFalse(output.getOut().contains(successful));
+  }
+
+  @Test
+  void thatLogEventsAreAppendedAsynchronously(@Autowired final MeterRegistry meterRegistry) {
+    final var root =
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+    assertNotNull(root.getAppender("ASYNC-CONSOLE"));
+    assertNull(root.getAppender("CONSOLE"));
+    assertNotNull(meterRegistry.find("logging.events.dropped").counter());
+    assertNotNull(meterRegistry.find("logging.events.queued").gauge());
+  }
+}
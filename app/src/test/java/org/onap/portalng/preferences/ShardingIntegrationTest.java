@@ -0,0 +1,239 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.repository.ShardRing;
+import org.onap.portalng.preferences.repository.ShardedPreferencesStore;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.onap.portalng.preferences.services.ReshardingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * The shards are schemas of the test database, created before Liquibase migrates them. Shard c was
+ * added to a and b, so users the ring moved to c are still found on their previous shard until they
+ * are resharded. The context is closed afterwards, as its pools are not shared with any other test.
+ */
+@DirtiesContext
+@SpringBootTest(
+    properties = {
+      "preferences.storage.sharding.enabled=true",
+      "preferences.storage.sharding.previous-shards=a,b",
+      "preferences.storage.sharding.shards[0].name=a",
+      "preferences.storage.sharding.shards[0].url=${spring.datasource.url}?currentSchema=shard_a",
+      "preferences.storage.sharding.shards[0].username=${spring.datasource.username}",
+      "preferences.storage.sharding.shards[0].password=${spring.datasource.password}",
+      "preferences.storage.sharding.shards[0].max-pool-size=2",
+      "preferences.storage.sharding.shards[1].name=b",
+      "preferences.storage.sharding.shards[1].url=${spring.datasource.url}?currentSchema=shard_b",
+      "preferences.storage.sharding.shards[1].username=${spring.datasource.username}",
+      "preferences.storage.sharding.shards[1].password=${spring.datasource.password}",
+      "preferences.storage.sharding.shards[1].max-pool-size=2",
+      "preferences.storage.sharding.shards[2].name=c",
+      "preferences.storage.sharding.shards[2].url=${spring.datasource.url}?currentSchema=shard_c",
+      "preferences.storage.sharding.shards[2].username=${spring.datasource.username}",
+      "preferences.storage.sharding.shards[2].password=${spring.datasource.password}",
+      "preferences.storage.sharding.shards[2].max-pool-size=2"
+    })
+@ContextConfiguration(initializers = ShardingIntegrationTest.ShardSchemas.class)
+class ShardingIntegrationTest {
+
+  private static final List<String> SHARDS = List.of("a", "b", "c");
+
+  @Autowired private PreferencesService preferencesService;
+  @Autowired private ReshardingService reshardingService;
+  @Autowired private ShardedPreferencesStore shardedStore;
+  @Autowired private PreferencesCache preferencesCache;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  void thatUsersAreStoredOnTheirShard() {
+    final var used = new HashSet<String>();
+    for (final var userId : userIds(30)) {
+      preferencesService.savePreferences(userId, preferences(userId)).block();
+      final var shard = shardedStore.shardOf(userId);
+      used.add(shard);
+      for (final var other : SHARDS) {
+        assertEquals(other.equals(shard) ? 1 : 0, count(other, userId), userId + " on " + other);
+      }
+    }
+    assertEquals(3, used.size());
+  }
+
+  @Test
+  void thatOnlyUsersOfAnotherShardAreMoved() {
+    final var previousRing = new ShardRing(List.of("a", "b"), 256);
+    final var userIds = userIds(60);
+    var misplaced = 0;
+    for (final var userId : userIds) {
+      final var previous = previousRing.shardOf(userId);
+      insert(previous, userId);
+      if (!previous.equals(shardedStore.shardOf(userId))) {
+        misplaced++;
+      }
+    }
+    assertTrue(misplaced > 0);
+
+    // users are found on their previous shard until they are moved
+    for (final var userId : userIds) {
+      preferencesCache.invalidate(userId);
+      assertEquals(userId, owner(userId));
+    }
+
+    assertEquals(userIds.size(), shardedStore.findAllById(userIds).count().block());
+
+    assertEquals(misplaced, reshardingService.reshard().block());
+    for (final var userId : userIds) {
+      final var shard = shardedStore.shardOf(userId);
+      for (final var other : SHARDS) {
+        assertEquals(other.equals(shard) ? 1 : 0, count(other, userId), userId + " on " + other);
+      }
+      preferencesCache.invalidate(userId);
+      assertEquals(userId, owner(userId));
+    }
+    assertEquals(0, reshardingService.reshard().block());
+  }
+
+  @Test
+  void thatTheExportPrefersTheDocumentOnTheShardOfTheUser() {
+    final var previousRing = new ShardRing(List.of("a", "b"), 256);
+    // the shards are merged in order, so a copy on c comes after the one on a or b
+    final var userId =
+        userIds(1000).stream()
+            .filter(candidate -> shardedStore.shardOf(candidate).equals("c"))
+            .findFirst()
+            .orElseThrow();
+    jdbcTemplate.update(
+        "INSERT INTO shard_"
+            + previousRing.shardOf(userId)
+            + ".preferences (user_id, properties) VALUES (?, '{\"owner\":\"previous\"}')",
+        userId);
+    insert("c", userId);
+
+    final var exported =
+        shardedStore
+            .findAll(100)
+            .filter(preferencesDto -> preferencesDto.getUserId().equals(userId))
+            .collectList()
+            .block();
+
+    assertEquals(1, exported.size());
+    assertEquals(userId, exported.getFirst().getProperties().path("owner").asText());
+    // the other tests count the users that are moved
+    jdbcTemplate.update(
+        "DELETE FROM shard_" + previousRing.shardOf(userId) + ".preferences WHERE user_id = ?",
+        userId);
+  }
+
+  @Test
+  void thatMovedUsersKeepTheirVersion() {
+    final var previousRing = new ShardRing(List.of("a", "b"), 256);
+    final var userId =
+        userIds(1000).stream()
+            .filter(candidate -> shardedStore.shardOf(candidate).equals("c"))
+            .findFirst()
+            .orElseThrow();
+    final var previous = previousRing.shardOf(userId);
+    // far ahead of the sequence of shard c
+    final var version = 1_000_000_000L + new Random().nextInt(1_000_000);
+    jdbcTemplate.update(
+        "INSERT INTO shard_"
+            + previous
+            + ".preferences (user_id, properties, version) VALUES (?, '{}', ?)",
+        userId,
+        version);
+
+    assertEquals(1, shardedStore.move(previous, "c", List.of(userId)).block());
+
+    preferencesCache.invalidate(userId);
+    assertEquals(version, preferencesService.getPreferences(userId).block().version());
+    final var saved = preferencesService.savePreferences(userId, preferences(userId)).block();
+    assertTrue(saved.version() > version, saved.version() + " after " + version);
+  }
+
+  private String owner(final String userId) {
+    final var preferences = preferencesService.getPreferences(userId).block();
+    return objectMapper
+        .valueToTree(preferences.preferences().getProperties())
+        .path("owner")
+        .asText();
+  }
+
+  private void insert(final String shard, final String userId) {
+    jdbcTemplate.update(
+        "INSERT INTO shard_" + shard + ".preferences (user_id, properties) VALUES (?, ?::jsonb)",
+        userId,
+        "{\"owner\":\"" + userId + "\"}");
+  }
+
+  private int count(final String shard, final String userId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM shard_" + shard + ".preferences WHERE user_id = ?",
+        Integer.class,
+        userId);
+  }
+
+  private static List<String> userIds(final int count) {
+    return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID().toString()).toList();
+  }
+
+  private static PreferencesApiDto preferences(final String userId) {
+    return new PreferencesApiDto().properties(Map.of("owner", userId));
+  }
+
+  /** Creates the schemas of the shards in the test database. */
+  static class ShardSchemas
+      implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(final ConfigurableApplicationContext context) {
+      final var environment = context.getEnvironment();
+      final var database =
+          new JdbcTemplate(
+              new DriverManagerDataSource(
+                  environment.getRequiredProperty("spring.datasource.url"),
+                  environment.getProperty("spring.datasource.username"),
+                  environment.getProperty("spring.datasource.password")));
+      SHARDS.forEach(shard -> database.execute("CREATE SCHEMA IF NOT EXISTS shard_" + shard));
+    }
+  }
+}
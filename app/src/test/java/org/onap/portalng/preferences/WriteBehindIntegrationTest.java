@@ -0,0 +1,172 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.onap.portalng.preferences.services.WriteBehindBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webtestclient.autoconfigure.AutoConfigureWebTestClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "preferences.write-behind.enabled=true",
+      // flushed explicitly by the tests
+      "preferences.write-behind.window=1h"
+    })
+@AutoConfigureWebTestClient
+class WriteBehindIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PreferencesRepository preferencesRepository;
+  @Autowired private WriteBehindBuffer writeBehindBuffer;
+
+  @BeforeEach
+  void setup(final ApplicationContext context, @Autowired final PreferencesCache preferencesCache) {
+    webTestClient =
+        WebTestClient.bindToApplicationContext(context)
+            .apply(SecurityMockServerConfigurers.springSecurity())
+            .configureClient()
+            .build();
+    writeBehindBuffer.flush().block();
+    preferencesRepository.truncateTable();
+    preferencesCache.invalidateAll();
+  }
+
+  @AfterEach
+  void keepUp() {
+    ReflectionTestUtils.setField(writeBehindBuffer, "keepingUp", true);
+  }
+
+  @Test
+  void thatBufferedSavesAreReadBackAndCoalesced() throws Exception {
+    save(Map.of("appStarter", "first"));
+    save(Map.of("appStarter", "second"));
+
+    assertTrue(preferencesRepository.findById("user").isEmpty());
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .doesNotExist(HttpHeaders.ETAG)
+        .expectBody()
+        .json(objectMapper.writeValueAsString(preferences(Map.of("appStarter", "second"))));
+
+    writeBehindBuffer.flush().block();
+
+    assertEquals(
+        "second",
+        preferencesRepository
+            .findById("user")
+            .orElseThrow()
+            .getProperties()
+            .get("appStarter")
+            .asText());
+    assertTrue(writeBehindBuffer.get("user").isEmpty());
+  }
+
+  @Test
+  void thatSavesWrittenThroughAreNotOverwrittenByBufferedOnes() throws Exception {
+    save(Map.of("appStarter", "buffered"));
+    // the buffer fell behind while the save above is still pending
+    ReflectionTestUtils.setField(writeBehindBuffer, "keepingUp", false);
+    save(Map.of("appStarter", "written"));
+
+    assertTrue(writeBehindBuffer.get("user").isEmpty());
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .get()
+        .uri("/v1/preferences")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(objectMapper.writeValueAsString(preferences(Map.of("appStarter", "written"))));
+
+    writeBehindBuffer.flush().block();
+
+    assertEquals(
+        "written",
+        preferencesRepository
+            .findById("user")
+            .orElseThrow()
+            .getProperties()
+            .get("appStarter")
+            .asText());
+  }
+
+  @Test
+  void thatPatchesApplyToBufferedSaves() throws Exception {
+    save(Map.of("appStarter", "value"));
+
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .patch()
+        .uri("/v1/preferences")
+        .contentType(MediaType.valueOf("application/merge-patch+json"))
+        .bodyValue("{\"properties\":{\"dashboard\":\"value\"}}")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .json(
+            objectMapper.writeValueAsString(
+                preferences(Map.of("appStarter", "value", "dashboard", "value"))));
+  }
+
+  private void save(Map<String, Object> properties) {
+    webTestClient
+        .mutateWith(SecurityMockServerConfigurers.mockJwt().jwt(jwt -> jwt.claim("sub", "user")))
+        .put()
+        .uri("/v1/preferences")
+        .bodyValue(preferences(properties))
+        .exchange()
+        .expectStatus()
+        .isOk();
+  }
+
+  private PreferencesApiDto preferences(Map<String, Object> properties) {
+    return new PreferencesApiDto().properties(properties);
+  }
+}
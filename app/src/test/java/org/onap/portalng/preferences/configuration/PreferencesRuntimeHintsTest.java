@@ -0,0 +1,81 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import liquibase.change.core.RawSQLChange;
+import liquibase.precondition.core.TableExistsPrecondition;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.openapi.model.UserIdsApiDto;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class PreferencesRuntimeHintsTest {
+
+  private final RuntimeHints hints = new RuntimeHints();
+
+  PreferencesRuntimeHintsTest() {
+    new PreferencesRuntimeHints().registerHints(hints, getClass().getClassLoader());
+  }
+
+  @Test
+  void thatModelsCanBeBound() throws Exception {
+    assertTrue(
+        RuntimeHintsPredicates.reflection()
+            .onMethodInvocation(PreferencesApiDto.class.getMethod("getProperties"))
+            .test(hints));
+    assertTrue(
+        RuntimeHintsPredicates.reflection()
+            .onMethodInvocation(UserIdsApiDto.class.getMethod("setUserIds", List.class))
+            .test(hints));
+  }
+
+  @Test
+  void thatHibernateFindsJackson() {
+    assertTrue(
+        RuntimeHintsPredicates.reflection()
+            .onType(ObjectMapper.class)
+            .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+            .test(hints));
+  }
+
+  @Test
+  void thatLiquibaseChangelogIsIncluded() {
+    assertTrue(RuntimeHintsPredicates.resource().forResource("db/changelog.xml").test(hints));
+    assertTrue(
+        RuntimeHintsPredicates.resource()
+            .forResource("db/changelog/v005_partition_preferences.xml")
+            .test(hints));
+    assertTrue(
+        RuntimeHintsPredicates.reflection()
+            .onType(RawSQLChange.class)
+            .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+            .test(hints));
+    assertTrue(
+        RuntimeHintsPredicates.reflection().onType(TableExistsPrecondition.class).test(hints));
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class AsyncLoggingTest {
+
+  private final Logger root =
+      ((LoggerContext) LoggerFactory.getILoggerFactory())
+          .getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+
+  private final ListAppender<ILoggingEvent> console = appender("CONSOLE_TEST");
+
+  private final ListAppender<ILoggingEvent> file = appender("FILE_TEST");
+
+  @BeforeEach
+  void attach() {
+    root.addAppender(console);
+    root.addAppender(file);
+  }
+
+  @AfterEach
+  void detach() {
+    root.detachAppender(console);
+    root.detachAppender(file);
+  }
+
+  @Test
+  void thatEveryAppenderKeepsReceivingEvents() throws Exception {
+    final var asyncLogging =
+        new AsyncLogging(
+            new LoggerProperties(
+                null,
+                true,
+                List.of(),
+                new LoggerProperties.Sampling(1, Duration.ofSeconds(1)),
+                new LoggerProperties.Async(true, 16, Duration.ofSeconds(1))),
+            new SimpleMeterRegistry());
+    asyncLogging.afterPropertiesSet();
+    assertNull(root.getAppender("FILE_TEST"));
+
+    LoggerFactory.getLogger(AsyncLoggingTest.class).info("appended asynchronously");
+    asyncLogging.destroy();
+
+    assertEquals(List.of("appended asynchronously"), messages(console));
+    assertEquals(List.of("appended asynchronously"), messages(file));
+    assertEquals(file, root.getAppender("FILE_TEST"));
+  }
+
+  private static ListAppender<ILoggingEvent> appender(final String name) {
+    final var appender = new ListAppender<ILoggingEvent>();
+    appender.setName(name);
+    appender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+    appender.start();
+    return appender;
+  }
+
+  private static List<String> messages(final ListAppender<ILoggingEvent> appender) {
+    return appender.list.stream()
+        .map(ILoggingEvent::getFormattedMessage)
+        .filter(message -> message.equals("appended asynchronously"))
+        .toList();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.onap.portalng.preferences.configuration.StorageProperties;
+import reactor.core.publisher.Flux;
+
+class PersistenceSchedulerTest {
+
+  @Test
+  void thatVirtualThreadCallsAreBoundedByMaxConcurrency() throws Exception {
+    var meterRegistry = new SimpleMeterRegistry();
+    var persistenceScheduler =
+        new PersistenceScheduler(
+            storageProperties(StorageProperties.Scheduler.VIRTUAL_THREADS, 2), meterRegistry);
+    var running = new AtomicInteger();
+    var maxRunning = new AtomicInteger();
+
+    var results =
+        Flux.range(0, 20)
+            .flatMap(
+                i ->
+                    persistenceScheduler.schedule(
+                        () -> {
+                          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                          assertTrue(Thread.currentThread().isVirtual());
+                          Thread.sleep(10);
+                          running.decrementAndGet();
+                          return i;
+                        }))
+            .collectList()
+            .block();
+
+    assertEquals(20, results.size());
+    assertEquals(2, maxRunning.get());
+    assertEquals(
+        20,
+        meterRegistry.get("preferences.persistence.queue").tag("route", "primary").timer().count());
+    persistenceScheduler.destroy();
+  }
+
+  @Test
+  void thatNullResultsCompleteEmpty() {
+    var persistenceScheduler =
+        new PersistenceScheduler(
+            storageProperties(StorageProperties.Scheduler.BOUNDED_ELASTIC, 10),
+            new SimpleMeterRegistry());
+
+    assertTrue(persistenceScheduler.schedule(() -> null).blockOptional().isEmpty());
+  }
+
+  private StorageProperties storageProperties(
+      StorageProperties.Scheduler scheduler, int maxConcurrency) {
+    return new StorageProperties(
+        StorageProperties.Type.JPA,
+        new StorageProperties.Jpa(scheduler, maxConcurrency),
+        new StorageProperties.R2dbc(null, null, null, 10, Duration.ofSeconds(5)),
+        new StorageProperties.Replica(false, null, null, null, 10, Duration.ofSeconds(5), 100000),
+        new StorageProperties.Sharding(false, List.of(), List.of(), 256),
+        false);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.onap.portalng.preferences.configuration.RequestDecompressionFilter;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * The CPU time of gzip compressed responses per level, next to the bytes they save (printed when
+ * the trial starts), and of inflating gzip request bodies with the {@link
+ * RequestDecompressionFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressionBenchmark {
+
+  @Param({"1024", "16384", "262144"})
+  int documentBytes;
+
+  @Param({"1", "6", "9"})
+  int level;
+
+  private byte[] json;
+
+  private byte[] compressed;
+
+  @Setup
+  public void setup() throws IOException {
+    json =
+        Documents.OBJECT_MAPPER.writeValueAsBytes(
+            new PreferencesApiDto().properties(Documents.of(documentBytes)));
+    compressed = gzip();
+    System.out.printf(
+        "%n%d bytes at level %d: %d bytes gzipped, %.1f%% saved%n",
+        json.length,
+        level,
+        compressed.length,
+        100.0 * (json.length - compressed.length) / json.length);
+  }
+
+  @Benchmark
+  public byte[] gzip() throws IOException {
+    var bytes = new ByteArrayOutputStream(json.length / 4);
+    try (var gzip =
+        new GZIPOutputStream(bytes) {
+          {
+            def.setLevel(level);
+          }
+        }) {
+      gzip.write(json);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Benchmark
+  public long gunzip() {
+    var bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    return RequestDecompressionFilter.gunzip(
+            Flux.just(bufferFactory.wrap(compressed)), bufferFactory)
+        .reduce(
+            0L,
+            (length, buffer) -> {
+              length += buffer.readableByteCount();
+              DataBufferUtils.release(buffer);
+              return length;
+            })
+        .block();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Preferences documents of a given size, shaped like the ones the portal stores. */
+final class Documents {
+
+  /** Configured like the Jackson 2 mapper Spring Boot provides to the app. */
+  static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+  private Documents() {}
+
+  /**
+   * Build a document as Jackson deserializes a request body into the untyped properties
+   *
+   * @param bytes the approximate size of the serialized document
+   * @return nested maps and lists
+   */
+  static Map<String, Object> of(int bytes) {
+    var document = new LinkedHashMap<String, Object>();
+    var tiles = new LinkedHashMap<String, Object>();
+    document.put("appStarter", Map.of("favorites", List.of("app-1", "app-2", "app-3")));
+    document.put("dashboard", Map.of("tiles", tiles));
+    for (int i = 0; size(document) < bytes; i++) {
+      var tile = new LinkedHashMap<String, Object>();
+      tile.put("id", i);
+      tile.put("type", "USER_LAST_ACTION_TILE");
+      tile.put("displayed", i % 2 == 0);
+      tile.put("position", List.of(i % 4, i / 4));
+      tiles.put("tile-" + i, tile);
+    }
+    return document;
+  }
+
+  static int size(Object document) {
+    try {
+      return OBJECT_MAPPER.writeValueAsBytes(document).length;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
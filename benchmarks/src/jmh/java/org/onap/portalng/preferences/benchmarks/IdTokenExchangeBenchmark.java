@@ -0,0 +1,67 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.util.IdTokenExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/** Resolving the user id from the already validated token, done by every preferences endpoint. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdTokenExchangeBenchmark {
+
+  private MockServerWebExchange exchange;
+
+  @Setup
+  public void setup() {
+    var jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .claim(IdTokenExchange.JWT_CLAIM_USERID, "f8c4f8a1-3b9e-4f3a-9d7c-2a1b0c9d8e7f")
+            .claim("preferred_username", "user")
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(300))
+            .build();
+    exchange =
+        MockServerWebExchange.builder(MockServerHttpRequest.get("/v1/preferences"))
+            .principal(new JwtAuthenticationToken(jwt))
+            .build();
+  }
+
+  @Benchmark
+  public String extractUserId() {
+    return IdTokenExchange.extractUserId(exchange).block();
+  }
+}
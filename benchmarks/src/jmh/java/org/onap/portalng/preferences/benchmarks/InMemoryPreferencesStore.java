@@ -0,0 +1,107 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.onap.portalng.preferences.repository.RawPreferences;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Answers every call with one fixed document, so benchmarks measure no database access. */
+class InMemoryPreferencesStore implements PreferencesStore {
+
+  private final PreferencesDto stored;
+
+  InMemoryPreferencesStore(PreferencesDto stored) {
+    this.stored = stored;
+  }
+
+  @Override
+  public Mono<PreferencesDto> findById(String userId) {
+    return Mono.just(stored);
+  }
+
+  @Override
+  public Mono<RawPreferences> findRawById(String userId) {
+    return Mono.fromCallable(
+        () ->
+            new RawPreferences(
+                userId,
+                Documents.OBJECT_MAPPER.writeValueAsString(stored.getProperties()),
+                stored.getVersion()));
+  }
+
+  @Override
+  public Mono<Long> findVersionById(String userId) {
+    return Mono.just(stored.getVersion());
+  }
+
+  @Override
+  public Mono<PreferencesDto> findByPointer(String userId, JsonPointer pointer) {
+    var value = new PreferencesDto();
+    value.setUserId(userId);
+    value.setProperties(stored.getProperties().at(pointer));
+    value.setVersion(stored.getVersion());
+    return Mono.just(value);
+  }
+
+  @Override
+  public Flux<PreferencesDto> findAllById(List<String> userIds) {
+    return Flux.fromIterable(userIds)
+        .map(
+            userId -> {
+              var found = new PreferencesDto();
+              found.setUserId(userId);
+              found.setProperties(stored.getProperties());
+              found.setVersion(stored.getVersion());
+              return found;
+            });
+  }
+
+  @Override
+  public Flux<PreferencesDto> findAll(int fetchSize) {
+    return Flux.just(stored);
+  }
+
+  @Override
+  public Mono<PreferencesDto> save(PreferencesDto preferencesDto) {
+    var saved = new PreferencesDto();
+    saved.setUserId(preferencesDto.getUserId());
+    saved.setProperties(preferencesDto.getProperties());
+    saved.setVersion(stored.getVersion() + 1);
+    return Mono.just(saved);
+  }
+
+  @Override
+  public Mono<Void> saveAll(List<PreferencesDto> preferences) {
+    return Mono.empty();
+  }
+
+  @Override
+  public Mono<PreferencesDto> mergePatch(String userId, JsonNode patch) {
+    return Mono.just(stored);
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.configuration.LimitsProperties;
+import org.onap.portalng.preferences.configuration.WebFluxCodecConfig;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.DecoderHttpMessageReader;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Encoding responses and decoding request bodies with the codecs of {@link WebFluxCodecConfig}, in
+ * JSON and in the binary formats clients can negotiate instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonCodecBenchmark {
+
+  private static final ResolvableType TYPE = ResolvableType.forClass(PreferencesApiDto.class);
+
+  @Param({"1024", "16384", "262144", "1048576"})
+  int documentBytes;
+
+  @Param({"application/json", "application/cbor", "application/x-jackson-smile"})
+  String format;
+
+  private MediaType mediaType;
+
+  private Encoder<Object> encoder;
+
+  private Decoder<?> decoder;
+
+  private PreferencesApiDto preferences;
+
+  private byte[] body;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() throws Exception {
+    var configurer = ServerCodecConfigurer.create();
+    // limits above the largest document, so that decoding pays for the checks but never fails
+    var limits =
+        new LimitsProperties(
+            DataSize.ofMegabytes(2),
+            64,
+            Integer.MAX_VALUE,
+            new LimitsProperties.Quota(false, DataSize.ofMegabytes(2)));
+    new WebFluxCodecConfig(Documents.OBJECT_MAPPER, limits).configureHttpMessageCodecs(configurer);
+    mediaType = MediaType.valueOf(format);
+    encoder =
+        configurer.getWriters().stream()
+            .filter(EncoderHttpMessageWriter.class::isInstance)
+            .map(writer -> ((EncoderHttpMessageWriter<Object>) writer).getEncoder())
+            .filter(candidate -> candidate.canEncode(TYPE, mediaType))
+            .findFirst()
+            .orElseThrow();
+    decoder =
+        configurer.getReaders().stream()
+            .filter(DecoderHttpMessageReader.class::isInstance)
+            .map(reader -> ((DecoderHttpMessageReader<?>) reader).getDecoder())
+            .filter(candidate -> candidate.canDecode(TYPE, mediaType))
+            .findFirst()
+            .orElseThrow();
+
+    preferences = new PreferencesApiDto().properties(Documents.of(documentBytes));
+    var buffer =
+        encoder.encodeValue(
+            preferences, DefaultDataBufferFactory.sharedInstance, TYPE, mediaType, Map.of());
+    body = new byte[buffer.readableByteCount()];
+    buffer.read(body);
+    DataBufferUtils.release(buffer);
+  }
+
+  @Benchmark
+  public int encode() {
+    var buffer =
+        encoder.encodeValue(
+            preferences, DefaultDataBufferFactory.sharedInstance, TYPE, mediaType, Map.of());
+    var size = buffer.readableByteCount();
+    DataBufferUtils.release(buffer);
+    return size;
+  }
+
+  @Benchmark
+  public Object decode() {
+    return decoder.decode(
+        DefaultDataBufferFactory.sharedInstance.wrap(body), TYPE, mediaType, Map.of());
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Reading the documents of many users one query per user, as separate GETs do, against one query
+ * over an array of ids, as the batch lookup does. Needs a PostgreSQL database like the {@link
+ * PartitionedTableBenchmark}; the table lives in the <code>benchmark_lookup</code> schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LookupBenchmark {
+
+  private static final String FIND_BY_ID =
+      "SELECT properties::text AS properties, version FROM preferences WHERE user_id = ?";
+
+  private static final String FIND_BY_IDS =
+      """
+      SELECT user_id, properties::text AS properties, version FROM preferences
+      WHERE user_id = ANY(?)
+      """;
+
+  private static final int ROWS = 100_000;
+
+  @Param({"10", "100", "500"})
+  int users;
+
+  private Connection connection;
+
+  private PreparedStatement findById;
+
+  private PreparedStatement findByIds;
+
+  @Setup
+  public void setup() throws Exception {
+    connection =
+        DriverManager.getConnection(
+            System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"),
+            System.getProperty("benchmark.jdbc.username", "postgres"),
+            System.getProperty("benchmark.jdbc.password", "postgres"));
+    try (var statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA IF NOT EXISTS benchmark_lookup");
+      statement.execute("SET search_path TO benchmark_lookup");
+      statement.execute(
+          "CREATE TABLE IF NOT EXISTS preferences "
+              + "(user_id text PRIMARY KEY, properties jsonb, version bigint NOT NULL DEFAULT 0)");
+      statement.execute(
+          "INSERT INTO preferences (user_id, properties) "
+              + "SELECT 'user-' || i, jsonb_build_object('appStarter', jsonb_build_object('id', i)) "
+              + "FROM generate_series(0, "
+              + (ROWS - 1)
+              + ") i ON CONFLICT DO NOTHING");
+      statement.execute("VACUUM ANALYZE preferences");
+    }
+    findById = connection.prepareStatement(FIND_BY_ID);
+    findByIds = connection.prepareStatement(FIND_BY_IDS);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    connection.close();
+  }
+
+  private String[] randomUsers() {
+    var userIds = new String[users];
+    for (var i = 0; i < users; i++) {
+      userIds[i] = "user-" + ThreadLocalRandom.current().nextInt(ROWS);
+    }
+    return userIds;
+  }
+
+  @Benchmark
+  public int singleLookups() throws Exception {
+    var found = 0;
+    for (var userId : randomUsers()) {
+      findById.setString(1, userId);
+      try (var result = findById.executeQuery()) {
+        found += result.next() ? result.getString(1).length() : 0;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int batchLookup() throws Exception {
+    findByIds.setArray(1, connection.createArrayOf("text", randomUsers()));
+    var found = 0;
+    try (var result = findByIds.executeQuery()) {
+      while (result.next()) {
+        found += result.getString(2).length();
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Lookup and upsert of a random user against the plain and the hash-partitioned preferences table,
+ * with the statements of the store. Needs a PostgreSQL database, by default <code>
+ * jdbc:postgresql://localhost:5432/postgres</code> as postgres/postgres; override with <code>
+ * -Dbenchmark.jdbc.url</code>, <code>-Dbenchmark.jdbc.username</code> and <code>
+ * -Dbenchmark.jdbc.password</code>.
+ *
+ * <p>Every combination of layout and row count gets a schema of its own that is created by the
+ * changelog of the app and filled on the first run. It is kept for later runs, as filling 50M rows
+ * takes a while; drop the <code>benchmark_*</code> schemas afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionedTableBenchmark {
+
+  private static final String FIND_BY_ID =
+      "SELECT properties::text AS properties, version FROM preferences WHERE user_id = ?";
+
+  private static final String UPSERT =
+      """
+      INSERT INTO preferences (user_id, properties) VALUES (?, CAST(? AS jsonb))
+      ON CONFLICT (user_id) DO UPDATE SET properties = EXCLUDED.properties
+      WHERE preferences.properties IS DISTINCT FROM EXCLUDED.properties
+      RETURNING version
+      """;
+
+  private static final String DOCUMENT =
+      """
+      {"appStarter": {"listView": true, "hideFavorites": false}, \
+      "dashboard": {"apps": {"tiles": [{"id": 1, "type": "USER_LAST_ACTION_TILE", \
+      "displayed": true}, {"id": 2, "type": "WELCOME_TILE", "displayed": true}]}}}\
+      """;
+
+  private static final int FILL_BATCH = 1_000_000;
+
+  @Param({"1000000", "10000000", "50000000"})
+  int rows;
+
+  @Param({"plain", "partitioned"})
+  String layout;
+
+  @Param({"16"})
+  int partitions;
+
+  private Connection connection;
+
+  private PreparedStatement findById;
+
+  private PreparedStatement upsert;
+
+  @Setup
+  public void setup() throws Exception {
+    // the benchmark jar bundles the resources of the app, which are on the classpath as well
+    System.setProperty("liquibase.duplicateFileMode", "SILENT");
+    connection =
+        DriverManager.getConnection(
+            System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"),
+            System.getProperty("benchmark.jdbc.username", "postgres"),
+            System.getProperty("benchmark.jdbc.password", "postgres"));
+    var schema =
+        "benchmark_" + layout + "_" + rows + (layout.equals("partitioned") ? "_" + partitions : "");
+    try (var statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+      statement.execute("SET search_path TO " + schema);
+    }
+    var database =
+        DatabaseFactory.getInstance()
+            .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+    database.setDefaultSchemaName(schema);
+    var liquibase = new Liquibase("db/changelog.xml", new ClassLoaderResourceAccessor(), database);
+    liquibase.setChangeLogParameter("partitions", layout.equals("partitioned") ? partitions : 0);
+    liquibase.update(new Contexts(), new LabelExpression());
+    connection.setAutoCommit(true);
+    fill();
+
+    findById = connection.prepareStatement(FIND_BY_ID);
+    upsert = connection.prepareStatement(UPSERT);
+  }
+
+  /** Inserts the missing rows without the notification trigger, in batches of their own. */
+  private void fill() throws Exception {
+    try (var statement = connection.createStatement()) {
+      var result = statement.executeQuery("SELECT count(*) FROM preferences");
+      result.next();
+      var existing = result.getLong(1);
+      if (existing >= rows) {
+        return;
+      }
+      statement.execute("ALTER TABLE preferences DISABLE TRIGGER preferences_notify_inserted");
+      try (var insert =
+          connection.prepareStatement(
+              "INSERT INTO preferences (user_id, properties) "
+                  + "SELECT 'user-' || i, jsonb_set(CAST(? AS jsonb), '{appStarter,id}', to_jsonb(i)) "
+                  + "FROM generate_series(?, ?) i")) {
+        for (var from = existing; from < rows; from += FILL_BATCH) {
+          insert.setString(1, DOCUMENT);
+          insert.setLong(2, from);
+          insert.setLong(3, Math.min(from + FILL_BATCH, rows) - 1);
+          insert.executeUpdate();
+        }
+      } finally {
+        statement.execute("ALTER TABLE preferences ENABLE TRIGGER preferences_notify_inserted");
+      }
+      statement.execute("VACUUM ANALYZE preferences");
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    connection.close();
+  }
+
+  private String randomUser() {
+    return "user-" + ThreadLocalRandom.current().nextInt(rows);
+  }
+
+  @Benchmark
+  public String lookup() throws Exception {
+    findById.setString(1, randomUser());
+    try (var result = findById.executeQuery()) {
+      return result.next() ? result.getString(1) : null;
+    }
+  }
+
+  @Benchmark
+  public long upsert() throws Exception {
+    upsert.setString(1, randomUser());
+    upsert.setString(2, DOCUMENT.replace("true", ThreadLocalRandom.current().nextBoolean() + ""));
+    try (var result = upsert.executeQuery()) {
+      return result.next() ? result.getLong(1) : 0;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.cache.PreferencesCache;
+import org.onap.portalng.preferences.configuration.LimitsProperties;
+import org.onap.portalng.preferences.configuration.StorageProperties;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.repository.PreferencesStore;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.onap.portalng.preferences.services.VersionedPreferences;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The conversions between the API model and the stored JsonNode that {@link PreferencesService}
+ * does on every save and read. The store answers from memory and the cache is disabled by default,
+ * so only the conversion and the Reactor assembly are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PreferencesServiceBenchmark {
+
+  @Param({"1024", "16384", "262144", "1048576"})
+  int documentBytes;
+
+  private Map<String, Object> properties;
+
+  private PreferencesApiDto preferences;
+
+  private PreferencesService preferencesService;
+
+  private AnnotationConfigApplicationContext context;
+
+  @Setup
+  public void setup() {
+    properties = Documents.of(documentBytes);
+    preferences = new PreferencesApiDto().properties(properties);
+
+    var stored = new PreferencesDto();
+    stored.setUserId("user");
+    stored.setProperties(Documents.OBJECT_MAPPER.valueToTree(properties));
+    stored.setVersion(1L);
+
+    context = new AnnotationConfigApplicationContext();
+    context.registerBean(PreferencesStore.class, () -> new InMemoryPreferencesStore(stored));
+    context.register(ServiceContext.class);
+    context.refresh();
+    preferencesService = context.getBean(PreferencesService.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public JsonNode valueToTree() {
+    return Documents.OBJECT_MAPPER.valueToTree(properties);
+  }
+
+  @Benchmark
+  public VersionedPreferences savePreferences() {
+    return preferencesService.savePreferences("user", preferences).block();
+  }
+
+  @Benchmark
+  public VersionedPreferences getPreferences() {
+    return preferencesService.getPreferences("user").block();
+  }
+
+  /**
+   * The service and its collaborators as the application wires them, with the default settings, so
+   * changes to their constructors need no change here.
+   */
+  @Configuration(proxyBeanMethods = false)
+  @ComponentScan(basePackageClasses = {PreferencesService.class, PreferencesCache.class})
+  @ConfigurationPropertiesScan(
+      basePackageClasses = {PreferencesService.class, PreferencesCache.class})
+  @EnableConfigurationProperties({StorageProperties.class, LimitsProperties.class})
+  static class ServiceContext {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    ObjectMapper objectMapper() {
+      return Documents.OBJECT_MAPPER;
+    }
+  }
+}
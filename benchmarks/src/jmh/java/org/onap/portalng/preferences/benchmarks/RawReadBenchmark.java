@@ -0,0 +1,90 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.openapi.model.PreferencesApiDto;
+import org.onap.portalng.preferences.services.PreferencesService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+/**
+ * A read from the JSON text the database returns for the jsonb column to the response buffer:
+ * parsed into a JsonNode and serialized again, or passed through as a {@link RawValue} like {@link
+ * PreferencesService#getJsonPreferences} does with raw reads enabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RawReadBenchmark {
+
+  private static final ResolvableType TYPE = ResolvableType.forClass(PreferencesApiDto.class);
+
+  @Param({"1024", "16384", "262144", "1048576"})
+  int documentBytes;
+
+  private Jackson2JsonEncoder encoder;
+
+  private String stored;
+
+  @Setup
+  public void setup() throws Exception {
+    encoder = new Jackson2JsonEncoder(Documents.OBJECT_MAPPER);
+    stored = Documents.OBJECT_MAPPER.writeValueAsString(Documents.of(documentBytes));
+  }
+
+  @Benchmark
+  public int parsed() throws Exception {
+    return encode(new PreferencesApiDto().properties(Documents.OBJECT_MAPPER.readTree(stored)));
+  }
+
+  @Benchmark
+  public int raw() {
+    return encode(new PreferencesApiDto().properties(new RawValue(stored)));
+  }
+
+  private int encode(PreferencesApiDto preferences) {
+    var buffer =
+        encoder.encodeValue(
+            preferences,
+            DefaultDataBufferFactory.sharedInstance,
+            TYPE,
+            MediaType.APPLICATION_JSON,
+            Map.of());
+    var size = buffer.readableByteCount();
+    DataBufferUtils.release(buffer);
+    return size;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.logging.LoggerProperties;
+import org.onap.portalng.preferences.logging.ReactiveRequestLoggingFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * What the request logging filter adds to every request. Log events are created at INFO but not
+ * appended anywhere, so the figures cover the filter and not the console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestLoggingBenchmark {
+
+  private static final String TRACE_ID_HEADER_NAME = "X-Request-Id";
+
+  /** The exclude paths of application.yml. */
+  private static final List<String> EXCLUDE_PATHS = List.of("/actuator/**");
+
+  private static final WebFilterChain CHAIN =
+      exchange -> {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+      };
+
+  /** Log one in this many successful requests. */
+  @Param({"1", "10"})
+  private int sampleOneIn;
+
+  private ReactiveRequestLoggingFilter filter;
+
+  private MockServerWebExchange apiExchange;
+
+  private MockServerWebExchange actuatorExchange;
+
+  @Setup
+  public void setup() {
+    var root =
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+    root.detachAndStopAllAppenders();
+    root.setLevel(Level.INFO);
+
+    filter =
+        new ReactiveRequestLoggingFilter(
+            new LoggerProperties(
+                TRACE_ID_HEADER_NAME,
+                true,
+                EXCLUDE_PATHS,
+                new LoggerProperties.Sampling(sampleOneIn, Duration.ofSeconds(1)),
+                new LoggerProperties.Async(false, 8192, Duration.ofSeconds(1))),
+            new SimpleMeterRegistry());
+    apiExchange =
+        MockServerWebExchange.from(
+            MockServerHttpRequest.get("http://localhost:9001/v1/preferences")
+                .header(TRACE_ID_HEADER_NAME, "4bf92f3577b34da6a3ce929d0e0e4736"));
+    actuatorExchange =
+        MockServerWebExchange.from(
+            MockServerHttpRequest.get("http://localhost:9001/actuator/health/readiness"));
+  }
+
+  @Benchmark
+  public Void filterApiPath() {
+    return filter.filter(apiExchange, CHAIN).block();
+  }
+
+  @Benchmark
+  public Void filterExcludedPath() {
+    return filter.filter(actuatorExchange, CHAIN).block();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.repository.ShardRing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Looking up the shard of a user on the {@link ShardRing}, done by every call of the sharded store,
+ * next to the share of random user ids that move when the last of the shards is added (printed when
+ * the trial starts).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShardRingBenchmark {
+
+  private static final int USERS = 1_000_000;
+
+  @Param({"4", "16"})
+  int shards;
+
+  @Param({"256"})
+  int virtualNodes;
+
+  private ShardRing ring;
+
+  private String[] userIds;
+
+  private int next;
+
+  @Setup
+  public void setup() {
+    var names = new ArrayList<String>();
+    for (var i = 0; i < shards; i++) {
+      names.add("shard-" + i);
+    }
+    ring = new ShardRing(names, virtualNodes);
+    var previousRing = new ShardRing(names.subList(0, shards - 1), virtualNodes);
+    userIds = new String[USERS];
+    var moved = 0;
+    var movedToNewShard = 0;
+    for (var i = 0; i < USERS; i++) {
+      userIds[i] = UUID.randomUUID().toString();
+      var shard = ring.shardOf(userIds[i]);
+      if (!shard.equals(previousRing.shardOf(userIds[i]))) {
+        moved++;
+        if (shard.equals(names.getLast())) {
+          movedToNewShard++;
+        }
+      }
+    }
+    System.out.printf(
+        "%n%d -> %d shards: %.1f%% of %d random ids moved (1/%d = %.1f%%), %d of them to the new"
+            + " shard%n",
+        shards - 1, shards, 100.0 * moved / USERS, USERS, shards, 100.0 / shards, movedToNewShard);
+  }
+
+  @Benchmark
+  public String shardOf() {
+    var userId = userIds[next];
+    next = next + 1 == userIds.length ? 0 : next + 1;
+    return ring.shardOf(userId);
+  }
+}
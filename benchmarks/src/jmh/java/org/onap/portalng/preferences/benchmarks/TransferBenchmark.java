@@ -0,0 +1,138 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import java.sql.DriverManager;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.PreferencesApplication;
+import org.onap.portalng.preferences.openapi.model.UserPreferencesApiDto;
+import org.onap.portalng.preferences.services.PreferencesTransferService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+
+/**
+ * Export and import of all preferences through the {@link PreferencesTransferService}, with either
+ * store, as the admin endpoints run them but without HTTP. Needs a PostgreSQL database like the
+ * {@link PartitionedTableBenchmark}; the app is started against the <code>benchmark_transfer
+ * </code> schema. Every import starts from an empty table, every export from a full one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransferBenchmark {
+
+  private static final String SCHEMA = "benchmark_transfer";
+
+  @Param({"1000000"})
+  int rows;
+
+  @Param({"jpa", "r2dbc"})
+  String storage;
+
+  private ConfigurableApplicationContext context;
+
+  private PreferencesTransferService transferService;
+
+  private JdbcTemplate jdbcTemplate;
+
+  private final Map<String, Object> document = Documents.of(90);
+
+  @Setup
+  public void setup() throws Exception {
+    // the benchmark jar bundles the resources of the app, which are on the classpath as well
+    System.setProperty("liquibase.duplicateFileMode", "SILENT");
+    var url = System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/postgres");
+    var username = System.getProperty("benchmark.jdbc.username", "postgres");
+    var password = System.getProperty("benchmark.jdbc.password", "postgres");
+    try (var connection = DriverManager.getConnection(url, username, password);
+        var statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+    }
+    context =
+        new SpringApplicationBuilder(PreferencesApplication.class)
+            .run(
+                "--server.port=0",
+                "--KEYCLOAK_URL=http://localhost",
+                "--KEYCLOAK_REALM=benchmark",
+                "--spring.datasource.url=" + url + "?currentSchema=" + SCHEMA,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--preferences.storage.type=" + storage,
+                "--preferences.storage.r2dbc.url="
+                    + "r2dbc:"
+                    + url.substring("jdbc:".length())
+                    + "?schema="
+                    + SCHEMA,
+                "--preferences.storage.r2dbc.username=" + username,
+                "--preferences.storage.r2dbc.password=" + password);
+    transferService = context.getBean(PreferencesTransferService.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+  }
+
+  @Setup(Level.Iteration)
+  public void prepareTable(BenchmarkParams params) {
+    if (params.getBenchmark().endsWith("importAll")) {
+      jdbcTemplate.execute("TRUNCATE preferences");
+    } else if (count() != rows) {
+      transferService.importPreferences(users()).block();
+    }
+    jdbcTemplate.execute("VACUUM ANALYZE preferences");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  private long count() {
+    return jdbcTemplate.queryForObject("SELECT count(*) FROM preferences", Long.class);
+  }
+
+  private Flux<UserPreferencesApiDto> users() {
+    return Flux.range(0, rows)
+        .map(i -> new UserPreferencesApiDto().userId("user-" + i).properties(document));
+  }
+
+  @Benchmark
+  public Long importAll() {
+    return transferService.importPreferences(users()).block();
+  }
+
+  @Benchmark
+  public Long exportAll() {
+    return transferService.exportPreferences().count().block();
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ * Copyright (c) 2026. Deutsche Telekom AG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *
+ */
+
+package org.onap.portalng.preferences.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.sql.DriverManager;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.onap.portalng.preferences.PreferencesApplication;
+import org.onap.portalng.preferences.entities.PreferencesDto;
+import org.onap.portalng.preferences.repository.PreferencesRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Saving the document of an existing user with <code>repository.save</code>, which selects the row
+ * before it inserts or updates it, against the single native upsert of the JPA store. Needs a
+ * PostgreSQL database like the {@link PartitionedTableBenchmark}; the app is started against the
+ * <code>benchmark_upsert</code> schema.
+ *
+ * <p>A changed document gets a new revision on every save, an unchanged one is saved as stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UpsertBenchmark {
+
+  private static final String SCHEMA = "benchmark_upsert";
+
+  private static final int ROWS = 100_000;
+
+  @Param({"changed", "unchanged"})
+  String document;
+
+  private ConfigurableApplicationContext context;
+
+  private PreferencesRepository repository;
+
+  private ObjectNode properties;
+
+  private long revision;
+
+  @Setup
+  public void setup() throws Exception {
+    // the benchmark jar bundles the resources of the app, which are on the classpath as well
+    System.setProperty("liquibase.duplicateFileMode", "SILENT");
+    var url = System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/postgres");
+    var username = System.getProperty("benchmark.jdbc.username", "postgres");
+    var password = System.getProperty("benchmark.jdbc.password", "postgres");
+    try (var connection = DriverManager.getConnection(url, username, password);
+        var statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+    }
+    context =
+        new SpringApplicationBuilder(PreferencesApplication.class)
+            .run(
+                "--server.port=0",
+                "--KEYCLOAK_URL=http://localhost",
+                "--KEYCLOAK_REALM=benchmark",
+                "--spring.datasource.url=" + url + "?currentSchema=" + SCHEMA,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password);
+    repository = context.getBean(PreferencesRepository.class);
+    properties = Documents.OBJECT_MAPPER.valueToTree(Documents.of(1024));
+    properties.put("revision", 0);
+    var jdbcTemplate = context.getBean(JdbcTemplate.class);
+    jdbcTemplate.execute("TRUNCATE preferences");
+    jdbcTemplate.update(
+        "INSERT INTO preferences (user_id, properties) "
+            + "SELECT 'user-' || i, CAST(? AS jsonb) FROM generate_series(0, ?) i",
+        properties.toString(),
+        ROWS - 1);
+    jdbcTemplate.execute("VACUUM ANALYZE preferences");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  private String randomUser() {
+    return "user-" + ThreadLocalRandom.current().nextInt(ROWS);
+  }
+
+  private ObjectNode nextDocument() {
+    if (document.equals("changed")) {
+      properties.put("revision", ++revision);
+    }
+    return properties;
+  }
+
+  @Benchmark
+  public PreferencesDto save() {
+    var preferencesDto = new PreferencesDto();
+    preferencesDto.setUserId(randomUser());
+    preferencesDto.setProperties(nextDocument());
+    return repository.save(preferencesDto);
+  }
+
+  @Benchmark
+  public Long upsert() {
+    return repository.upsert(randomUser(), nextDocument().toString()).orElseThrow();
+  }
+}
@@ -0,0 +1,5 @@
+#!/usr/bin/env bash
+# Runs once when the postgres container initializes its database: allow the postgres-replica
+# container to stream the WAL (wal_level=replica and max_wal_senders are the defaults).
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"